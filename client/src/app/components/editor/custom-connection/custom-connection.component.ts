@@ -104,6 +104,6 @@ export class CustomConnectionComponent implements OnInit, OnChanges {
     this.payloadDraft = this.data.payload.code;
     this.payloadLanguageDraft = this.data.payload.language;
     this.payloadDialogVisible = false;
-    this.data.propertyChange("payload", this.data.payload);
+    this.data.propertyChange("payload", this.data.payload, this.data);
   }
 }
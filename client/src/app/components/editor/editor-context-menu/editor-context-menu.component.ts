@@ -187,7 +187,9 @@ export class EditorContextMenuComponent implements OnChanges {
                   description: value.payload.description,
                   language: value.payload.language,
                   endpoints: value.payload.endpoints,
-                  initiator: value.payload.initiator
+                  initiator: value.payload.initiator,
+                  virtualThreads: value.payload.virtualThreads,
+                  cluster: value.payload.cluster
                 },
                 hasInput: this.node.hasInput,
                 addInput: this.node.addInput,
@@ -281,7 +283,9 @@ export class EditorContextMenuComponent implements OnChanges {
           description: this.formNode.value.payload.description,
           language: this.formNode.value.payload.language,
           endpoints: this.formNode.value.payload.endpoints,
-          initiator: this.formNode.value.payload.initiator
+          initiator: this.formNode.value.payload.initiator,
+          virtualThreads: this.formNode.value.payload.virtualThreads,
+          cluster: this.formNode.value.payload.cluster
         },
         hasInput: this.node.hasInput,
         addInput: this.node.addInput,
@@ -68,6 +68,7 @@ export class FormBuilderService {
       parameters: this.fb.array(e.parameters.map(p => this.parameter(p))),
       responses: this.apiResponseArray(e.responses),
       complexity: [e.complexity || defaultEndpoint().complexity, [Validators.required, Validators.min(1), Validators.max(100)]],
+      latency: [e.latency ?? null],
       code: [e.code || defaultEndpoint().code]
     });
   }
@@ -113,7 +114,9 @@ export class FormBuilderService {
       ],
       description: [payload.description ?? defaultNodePayload('').description, Validators.maxLength(100)],
       endpoints: this.endpointArray(payload.endpoints ?? defaultNodePayload('').endpoints),
-      initiator: [payload.initiator || defaultNodePayload('').initiator]
+      initiator: [payload.initiator || defaultNodePayload('').initiator],
+      virtualThreads: [payload.virtualThreads || defaultNodePayload('').virtualThreads],
+      cluster: [payload.cluster || defaultNodePayload('').cluster]
     });
   }
 
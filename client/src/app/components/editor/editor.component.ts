@@ -53,7 +53,7 @@ import {
 } from "d3-shape";
 import { pathTransformer, useTransformerUpdater } from "./util/path";
 import { hasCycle } from "./util/math";
-import { DiagramData } from "../../services/diagram.service";
+import { DiagramChange, DiagramConnection, DiagramData, DiagramNode } from "../../services/diagram.service";
 import { TooltipModule } from "primeng/tooltip";
 import { UploadFileDialogComponent } from "../upload-file-dialog/upload-file-dialog.component";
 import { ConfirmationService, MessageService } from "primeng/api";
@@ -120,6 +120,9 @@ export class EditorComponent implements OnInit, AfterViewInit, OnDestroy {
 
   @Input() title: string | undefined = "";
 
+  // when set, single changes are emitted with diagramChange instead of waiting for the save of the whole diagram
+  @Input() autosave = false;
+
   @Output() editorEventsChange = new EventEmitter<any>();
   @Output() areaEventsChange = new EventEmitter<any>();
 
@@ -133,6 +136,8 @@ export class EditorComponent implements OnInit, AfterViewInit, OnDestroy {
   @Output() connectionSelected = new EventEmitter<Connection<Node, Node>| null>();
   @Output() connectionUpdated = new EventEmitter<Connection<Node, Node>>();
 
+  @Output() diagramChange = new EventEmitter<DiagramChange>();
+
   @Output() editorAreaCleared = new EventEmitter<void>();
   @Output() onSave = new EventEmitter<string>();
   @Output() onGenerate = new EventEmitter<any>();
@@ -152,6 +157,9 @@ export class EditorComponent implements OnInit, AfterViewInit, OnDestroy {
 
   private connectionExcludedFromCycleCheck: Connection<Node, Node>[] = [];
 
+  // set while the whole diagram is replaced (clear), its changes are saved with the whole diagram
+  private bulkChange = false;
+
   shapes: Shape[] = ["ellipse", "circle", "rect"];
   selectedShape: Shape = "circle";
 
@@ -216,9 +224,15 @@ export class EditorComponent implements OnInit, AfterViewInit, OnDestroy {
     // listener of events in area
     this.area.addPipe((context) => {
       if (context.type === "nodepicked"){
-        this.diagramTouched = true;    
+        if (!this.autosave) this.diagramTouched = true;
         this.nodeSelected.emit(this.editor.getNode(context.data.id));
       }
+      if (context.type === "nodedragged") {
+        const view = this.area.nodeViews.get(context.data.id);
+        if (view) {
+          this.changed({ type: "nodeUpdated", id: context.data.id, patch: { position: { ...view.position } } });
+        }
+      }
       if (context.type === "noderemoved"){
         this.nodeRemoved.emit(this.editor.getNode(context.data.id));
         this.nodeSelected.emit(null);
@@ -253,17 +267,20 @@ export class EditorComponent implements OnInit, AfterViewInit, OnDestroy {
 
     // listen on events on the editor
     this.editor.addPipe(async (context) => {
-      if (
-        [
-          "nodecreated",
-          "noderemoved",
-          "nodeupdated",
-          "connectioncreated",
-          "connectionremoved",
-          "connectionupdated",
-        ].includes(context.type)
-      ) {
-        if (!this.loadingDiagram()) this.diagramTouched = true;
+      if (context.type === "nodecreated") {
+        this.changed({ type: "nodeAdded", node: this.toDiagramNode(context.data) });
+      }
+      if (context.type === "noderemoved") {
+        this.changed({ type: "nodeRemoved", id: context.data.id });
+      }
+      if (context.type === "connectioncreated") {
+        this.changed({ type: "connectionAdded", connection: this.toDiagramConnection(context.data) });
+      }
+      if (context.type === "connectionremoved") {
+        // the connections of a removed node are removed by the server together with the node
+        if (this.editor.getNode(context.data.source) && this.editor.getNode(context.data.target)) {
+          this.changed({ type: "connectionRemoved", id: context.data.id });
+        }
       }
 
       if (context.type === "connectionremoved") {
@@ -305,8 +322,12 @@ export class EditorComponent implements OnInit, AfterViewInit, OnDestroy {
       remove: (data: Schemes["Connection"]) => {
         this.editor.removeConnection(data.id);
       },
-      propertyChange: (key: string, value: any) => {
-        this.diagramTouched = true;
+      propertyChange: (key: string, value: any, connection?: Connection<Node, Node>) => {
+        if (connection && key === "payload") {
+          this.changed({ type: "connectionUpdated", id: connection.id, patch: { payload: value } });
+        } else {
+          this.diagramTouched = true;
+        }
       },
       getNode(id: Schemes['Node']['id']): Schemes["Node"] {
         return this.editor.getNode(id);
@@ -597,7 +618,11 @@ export class EditorComponent implements OnInit, AfterViewInit, OnDestroy {
         );
       },
       propertyChange: (key: string, value: any) => {
-        this.diagramTouched = true;
+        if (key === "payload") {
+          this.changed({ type: "nodeUpdated", id: node.id, patch: { payload: value } });
+        } else {
+          this.diagramTouched = true;
+        }
       },
     });
 
@@ -623,7 +648,11 @@ export class EditorComponent implements OnInit, AfterViewInit, OnDestroy {
       connectionToUpdate.label = connection.label;
       connectionToUpdate.weight = connection.weight;
       connectionToUpdate.payload = connection.payload;
-      this.diagramTouched = true;
+      this.changed({
+        type: "connectionUpdated",
+        id: connection.id,
+        patch: { label: connection.label, weight: connection.weight, payload: connection.payload }
+      });
     }
   }
 
@@ -633,7 +662,11 @@ export class EditorComponent implements OnInit, AfterViewInit, OnDestroy {
       nodeToUpdate.label = node.label;
       nodeToUpdate.weight = node.weight;
       nodeToUpdate.payload = node.payload;
-      this.diagramTouched = true;
+      this.changed({
+        type: "nodeUpdated",
+        id: node.id,
+        patch: { label: node.label, weight: node.weight, payload: node.payload }
+      });
     }
   }
 
@@ -643,8 +676,14 @@ export class EditorComponent implements OnInit, AfterViewInit, OnDestroy {
   }
 
   async clear() {
-    // clear the editor
-    await this.editor.clear();
+    // clear the editor, the removals are saved with the whole diagram
+    this.bulkChange = true;
+    try {
+      await this.editor.clear();
+    } finally {
+      this.bulkChange = false;
+    }
+    this.diagramTouched = true;
   }
 
   async reorder() {
@@ -746,5 +785,39 @@ export class EditorComponent implements OnInit, AfterViewInit, OnDestroy {
     this.onDockerDownload.emit();
   }
 
+  // a change made by the user: emitted when autosaving, otherwise left to the save of the whole diagram.
+  // once the diagram has unsaved changes (import, generate, clear) the next changes are saved with them
+  private changed(change: DiagramChange) {
+    if (this.loadingDiagram() || this.bulkChange) return;
+    if (this.autosave && !this.diagramTouched) {
+      this.diagramChange.emit(change);
+    } else {
+      this.diagramTouched = true;
+    }
+  }
+
+  private toDiagramNode(node: Node): DiagramNode {
+    return {
+      id: node.id,
+      label: node.label,
+      shape: node.shape,
+      payload: node.payload,
+      weight: node.weight,
+      position: { ...node.position }
+    };
+  }
+
+  private toDiagramConnection(connection: Connection<Node, Node>): DiagramConnection {
+    return {
+      id: connection.id,
+      source: connection.source,
+      target: connection.target,
+      isLoop: connection.isLoop ?? false,
+      weight: connection.weight,
+      label: connection.label,
+      payload: connection.payload
+    };
+  }
+
 
 }
@@ -21,14 +21,14 @@ export class Connection<A extends Node, B extends Node> extends ClassicPreset.Co
 
   click: (c: Connection<A, B>) => void;
   remove: (c: Connection<A, B>) => void;
-  propertyChange: (key: string, value: any) => void;
+  propertyChange: (key: string, value: any, connection?: Connection<A, B>) => void;
 
   curve?: CurveFactory;
 
   constructor(
     events: { click: (data: Connection<A, B>) => void, 
       remove: (data: Connection<A, B>) => void, 
-      propertyChange: (key: string, value: any) => void,
+      propertyChange: (key: string, value: any, connection?: Connection<A, B>) => void,
       getNodee:(id: Schemes['Node']['id']) =>  Schemes["Node"]
     }, 
     source: A, target: B, public isLoop: boolean = false) {
@@ -123,6 +123,8 @@ export const defaultNodePayload = (nodeName: string): NodePayload => {
     basePath: '/api',
     description: '',
     initiator: false,
+    virtualThreads: false,
+    cluster: false,
     endpoints: [defaultEndpoint()]    
   }
 };
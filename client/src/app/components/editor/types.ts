@@ -48,6 +48,26 @@ export type ParameterValue<T> = {
 
 
 
+export type LatencyDistribution = 'CONSTANT' | 'UNIFORM' | 'NORMAL' | 'LOGNORMAL' | 'EMPIRICAL';
+
+export type LatencyPercentile = {
+  p: number;
+  ms: number;
+}
+
+export type LatencyModel = {
+  distribution: LatencyDistribution;
+  value?: number;
+  min?: number;
+  max?: number;
+  mean?: number;
+  stdDev?: number;
+  median?: number;
+  sigma?: number;
+  percentiles?: LatencyPercentile[];
+  cpuFraction?: number;
+}
+
 export type Endpoint = {
   path: string;
   summary: string;
@@ -55,6 +75,7 @@ export type Endpoint = {
   parameters: Parameter[];
   responses: ApiResponse[];
   complexity: number;
+  latency?: LatencyModel | null; // when set it replaces the latency derived from the complexity
   code: string;
 }
 
@@ -74,6 +95,8 @@ export type NodePayload = {
   description: string,
   endpoints?: Endpoint[];
   initiator: boolean;
+  virtualThreads?: boolean; // java only: Spring Boot 3 on Java 21 with virtual threads
+  cluster?: boolean; // javascript only: one server per container CPU
 }
 
 export type ConnectionPayload = {
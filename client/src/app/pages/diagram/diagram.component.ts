@@ -3,6 +3,7 @@ import {
   AfterViewInit,
   Component,
   inject,
+  OnDestroy,
   OnInit,
   signal,
   ViewChild,
@@ -17,6 +18,7 @@ import { SplitterModule } from "primeng/splitter";
 import { EditorComponent } from "../../components/editor/editor.component";
 import {
   Diagram,
+  DiagramChange,
   DiagramConnection,
   DiagramData,
   DiagramNode,
@@ -26,6 +28,8 @@ import { InputGroupAddon } from "primeng/inputgroupaddon";
 import { InputGroupModule } from "primeng/inputgroup";
 import { ExportService } from "../../services/export.service";
 import { LayoutService } from "../../layout/service/layout.service";
+import { EMPTY, Observable, Subject } from "rxjs";
+import { catchError, concatMap, takeUntil, tap } from "rxjs/operators";
 
 @Component({
   selector: "app-diagram",
@@ -43,7 +47,7 @@ import { LayoutService } from "../../layout/service/layout.service";
   templateUrl: "./diagram.component.html",
   styleUrl: "./diagram.component.scss",
 })
-export class DiagramPage implements OnInit, AfterViewInit {
+export class DiagramPage implements OnInit, AfterViewInit, OnDestroy {
   @ViewChild("editor") editor!: EditorComponent;
 
   // services
@@ -69,6 +73,10 @@ export class DiagramPage implements OnInit, AfterViewInit {
 
   showDrawer: boolean = false;
 
+  // changes of a saved diagram are sent one at a time, each one based on the version returned by the previous one
+  private changes$ = new Subject<DiagramChange>();
+  private destroy$ = new Subject<void>();
+
 
   diagramData: {diagram: DiagramData, mode: "init" | "import" | "generate"};
   
@@ -84,6 +92,13 @@ export class DiagramPage implements OnInit, AfterViewInit {
   }
   
   ngOnInit(): void {
+    this.changes$
+      .pipe(
+        concatMap((change) => this.saveChange(change)),
+        takeUntil(this.destroy$)
+      )
+      .subscribe();
+
     const projectId = this.route.snapshot.paramMap.get('projectId');
     if (projectId) {
       this.loadProject(projectId);
@@ -101,6 +116,16 @@ export class DiagramPage implements OnInit, AfterViewInit {
     this.layoutService.onMenuToggle()
   }
 
+  ngOnDestroy(): void {
+    this.destroy$.next();
+    this.destroy$.complete();
+  }
+
+  // autosave is possible once the diagram has been saved as a whole
+  get autosave(): boolean {
+    return !!this.diagram?.id && this.diagram.version != null;
+  }
+
   loadProject(id: string) {
     this.projectService.getProject(id).subscribe({
       next: (project) => {
@@ -154,6 +179,39 @@ export class DiagramPage implements OnInit, AfterViewInit {
     // handler
   }
 
+  onDiagramChange(change: DiagramChange) {
+    this.changes$.next(change);
+  }
+
+  private saveChange(change: DiagramChange): Observable<unknown> {
+    if (!this.autosave || this.editor.diagramTouched) {
+      // a previous change failed, this one is left to the save of the whole diagram
+      this.editor.diagramTouched = true;
+      return EMPTY;
+    }
+    return this.diagramService
+      .saveChange(this.project!.id, this.diagram!.id!, this.diagram!.version!, change)
+      .pipe(
+        tap((response) => (this.diagram!.version = response.version)),
+        catchError((error) => {
+          // removing an element already removed (e.g. with its node) is not an error
+          if (error.status === 404 && (change.type === "nodeRemoved" || change.type === "connectionRemoved")) {
+            return EMPTY;
+          }
+          console.error("Error saving diagram change:", error);
+          this.editor.diagramTouched = true;
+          this.messageService.add({
+            severity: "error",
+            summary: "Error",
+            detail: error.status === 409
+              ? "Diagram modified elsewhere, reload it to keep editing"
+              : "Failed to save the change, save the diagram to keep it",
+          });
+          return EMPTY;
+        })
+      );
+  }
+
   onSave($event: any) {
     let diagramData: any;
     try {
@@ -171,7 +229,8 @@ export class DiagramPage implements OnInit, AfterViewInit {
     this.diagram = {
       id: this.diagram?.id || "",
       name: this.diagram?.name || "New Diagram",
-      data: diagramData
+      data: diagramData,
+      version: this.diagram?.version ?? null
     };
 
     /*
@@ -181,6 +240,7 @@ export class DiagramPage implements OnInit, AfterViewInit {
       .subscribe({
         next: (response) => {
           this.diagram!.id = response.id;
+          this.diagram!.version = response.version;
           // url replacement with diagram id in case of new diagram
           this.router.navigate(
             [
@@ -262,6 +322,7 @@ export class DiagramPage implements OnInit, AfterViewInit {
       .updateDiagram(this.project!.id, this.diagram!)
       .subscribe({
         next: (response) => {
+          this.diagram!.version = response.version;
           // update breadcrumb
           this.updateBreadcrumb($event)
           this.changeName = false;
@@ -1,7 +1,6 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpHeaders } from '@angular/common/http';
 import { Observable, tap } from 'rxjs';
-import { BaseDocument } from './model/response.document';
 import { ConnectionPayload, Language, NodePayload, Position } from '../components/editor/types';
 
 
@@ -15,6 +14,12 @@ export interface Diagram {
   id: string | null
   name: string,
   data: DiagramData | null,
+  version?: number | null, // version loaded or returned by the last save, the server rejects stale saves with 409
+}
+
+export interface DiagramVersion {
+  id: string;
+  version: number;
 }
 
 export interface DiagramData {
@@ -46,6 +51,15 @@ export interface DiagramNode {
   position: Position;
 }
 
+// Single change of a saved diagram, autosaved through the node and connection endpoints instead of the whole diagram
+export type DiagramChange =
+  | { type: 'nodeAdded', node: DiagramNode }
+  | { type: 'nodeUpdated', id: string, patch: Partial<Pick<DiagramNode, 'label' | 'shape' | 'position' | 'payload' | 'weight'>> }
+  | { type: 'nodeRemoved', id: string }
+  | { type: 'connectionAdded', connection: DiagramConnection }
+  | { type: 'connectionUpdated', id: string, patch: Partial<Pick<DiagramConnection, 'source' | 'target' | 'label' | 'weight' | 'payload'>> }
+  | { type: 'connectionRemoved', id: string };
+
 interface GenerateDiagramParams {
   nodes: number; // Number of nodes (must be >= 1)
   roots: number; // Number of roots (must be >= 0)
@@ -70,18 +84,44 @@ export class DiagramService {
     return {
       id: null,
       name: "New Graph",
-      data: null
+      data: null,
+      version: null
     }
   }
 
   
-  updateDiagram(projectId: string, diagram: Diagram): Observable<BaseDocument> {
+  updateDiagram(projectId: string, diagram: Diagram): Observable<DiagramVersion> {
     const headers = new HttpHeaders({ 
       'Content-Type': 'application/json',
       'Use-Auth': 'true'
     });
 
-    return this.http.put<BaseDocument>(`${this.baseUrl}/${projectId}`, diagram, {headers});
+    return this.http.put<DiagramVersion>(`${this.baseUrl}/${projectId}`, diagram, {headers});
+  }
+
+  // sends a single change based on the given version, the server rejects it with 409 if the diagram changed in the meantime
+  saveChange(projectId: string, diagramId: string, version: number, change: DiagramChange): Observable<DiagramVersion> {
+    const headers = new HttpHeaders({ 
+      'Content-Type': 'application/json',
+      'Use-Auth': 'true'
+    });
+    const url = `${this.baseUrl}/${projectId}/${diagramId}`;
+    const options = { headers, params: { version } };
+
+    switch (change.type) {
+      case 'nodeAdded':
+        return this.http.post<DiagramVersion>(`${url}/nodes`, change.node, options);
+      case 'nodeUpdated':
+        return this.http.patch<DiagramVersion>(`${url}/nodes/${change.id}`, change.patch, options);
+      case 'nodeRemoved':
+        return this.http.delete<DiagramVersion>(`${url}/nodes/${change.id}`, options);
+      case 'connectionAdded':
+        return this.http.post<DiagramVersion>(`${url}/connections`, change.connection, options);
+      case 'connectionUpdated':
+        return this.http.patch<DiagramVersion>(`${url}/connections/${change.id}`, change.patch, options);
+      case 'connectionRemoved':
+        return this.http.delete<DiagramVersion>(`${url}/connections/${change.id}`, options);
+    }
   }
 
   deleteDiagram(projectId: string, diagramId: string): Observable<string> {
@@ -18,6 +18,7 @@ export interface Project {
   name: string
   userName: string
   diagrams: Diagram[]
+  diagramCount?: number
   createdAt: any
   updatedAt: any
 }
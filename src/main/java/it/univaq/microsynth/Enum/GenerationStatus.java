@@ -0,0 +1,15 @@
+package it.univaq.microsynth.Enum;
+
+
+/**
+ * Enum representing the state of an asynchronous generation job and of each service generated by it. A job and its services start as QUEUED, move to GENERATING while the code is produced, to ZIPPING while the bundle archive is written, and end as DONE or FAILED.
+ * Each service is GENERATED as soon as its own code is ready, while the other services of the bundle may still be GENERATING.
+ */
+public enum GenerationStatus {
+    QUEUED,
+    GENERATING,
+    GENERATED,
+    ZIPPING,
+    DONE,
+    FAILED
+}
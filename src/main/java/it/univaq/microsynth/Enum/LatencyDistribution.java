@@ -0,0 +1,14 @@
+package it.univaq.microsynth.Enum;
+
+
+/**
+ * Enum representing the distributions of the latency of an endpoint: a constant value, a uniform, normal or log-normal distribution,
+ * or an empirical distribution given by a table of percentiles.
+ */
+public enum LatencyDistribution {
+    CONSTANT,
+    UNIFORM,
+    NORMAL,
+    LOGNORMAL,
+    EMPIRICAL
+}
@@ -0,0 +1,14 @@
+package it.univaq.microsynth.Enum;
+
+
+/**
+ * Enum representing the shape of the call graph of a generated diagram. RANDOM_DAG connects nodes at random with the requested density, LAYERED builds N tiers where each tier calls the next one, FAN_OUT_TREE builds a tree with the given depth and branching, BARABASI_ALBERT builds a scale-free graph by preferential attachment, CHAIN calls the nodes one after the other and STAR has a hub calling every other node.
+ */
+public enum TopologyModel {
+    RANDOM_DAG,
+    LAYERED,
+    FAN_OUT_TREE,
+    BARABASI_ALBERT,
+    CHAIN,
+    STAR
+}
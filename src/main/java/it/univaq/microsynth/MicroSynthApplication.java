@@ -2,8 +2,10 @@ package it.univaq.microsynth;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MicroSynthApplication {
 
     public static void main(String[] args) {
@@ -3,6 +3,8 @@ package it.univaq.microsynth.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import it.univaq.microsynth.domain.dto.CursorPageDTO;
+import it.univaq.microsynth.domain.dto.CursorRequestDTO;
 import it.univaq.microsynth.domain.dto.PaginatedRequestDTO;
 import it.univaq.microsynth.domain.dto.UserResponseDTO;
 import it.univaq.microsynth.service.AccountService;
@@ -50,6 +52,35 @@ public class AccountController {
         return accountService.getAllUsers(paginatedRequestDTO);
     }
 
+    /**
+     * Retrieves a cursor paginated list of all users in the system.
+     *
+     * @param cursor  The cursor returned with the previous page, omitted for the first page.
+     * @param size    The number of users to include in each page.
+     * @param sortBy  The field by which to sort the users: id, username, email, createdAt or updatedAt.
+     * @param sortDir The direction of sorting, either "asc" for ascending or "desc" for descending.
+     * @return A ResponseEntity containing a page of UserResponseDTO objects and the cursor of the next page.
+     */
+    @Operation(
+            summary = "Get all users by cursor",
+            description = "Return cursor paginated list of users"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort field"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/all/cursor")
+    public ResponseEntity<CursorPageDTO<UserResponseDTO>> getAllUsersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        CursorRequestDTO cursorRequestDTO = new CursorRequestDTO(cursor, size, sortBy, sortDir);
+        return accountService.getAllUsers(cursorRequestDTO);
+    }
+
     /**
      * Retrieves a specific user by their unique identifier.
      *
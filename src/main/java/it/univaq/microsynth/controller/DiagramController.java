@@ -4,10 +4,11 @@ package it.univaq.microsynth.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import it.univaq.microsynth.domain.Connection;
 import it.univaq.microsynth.domain.Diagram;
-import it.univaq.microsynth.domain.dto.DiagramDTO;
-import it.univaq.microsynth.domain.dto.DocumentResponseDTO;
-import it.univaq.microsynth.domain.dto.DiagramGenerationRequestDTO;
+import it.univaq.microsynth.domain.Node;
+import it.univaq.microsynth.domain.dto.*;
+import it.univaq.microsynth.service.DiagramService;
 import it.univaq.microsynth.service.ProjectService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -23,26 +24,29 @@ public class DiagramController {
 
     private static final Logger log = LoggerFactory.getLogger(ProjectController.class);
     private final ProjectService projectService;
+    private final DiagramService diagramService;
 
 
-    public DiagramController(ProjectService projectService) {
+    public DiagramController(ProjectService projectService, DiagramService diagramService) {
         this.projectService = projectService;
+        this.diagramService = diagramService;
     }
 
     /**
      * Update a diagram for a project
      * @param projectId project id
      * @param diagramDTO diagram to update
-     * @return updated diagram
+     * @return id and new version of the updated diagram
      */
-    @Operation(summary = "Update project diagram", description = "return updated project id")
+    @Operation(summary = "Update project diagram", description = "return the id and the new version of the diagram")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "success"),
             @ApiResponse(responseCode = "404", description = "diagram not found"),
+            @ApiResponse(responseCode = "409", description = "diagram modified concurrently"),
             @ApiResponse(responseCode = "500", description = "Internal server Error")
     })
     @PutMapping("/{project_id}")
-    public ResponseEntity<DocumentResponseDTO> updateDiagram(@PathVariable("project_id") String projectId, @RequestBody DiagramDTO diagramDTO) {
+    public ResponseEntity<DiagramVersionDTO> updateDiagram(@PathVariable("project_id") String projectId, @RequestBody DiagramDTO diagramDTO) {
         return projectService.updateDiagram(projectId, diagramDTO);
     }
 
@@ -64,6 +68,148 @@ public class DiagramController {
         return projectService.deleteDiagram(projectId, diagramId);
     }
 
+    /**
+     * Add a node to a diagram
+     * @param projectId project id
+     * @param diagramId diagram id
+     * @param version diagram version the change is based on
+     * @param node node to add
+     * @return new diagram version
+     */
+    @Operation(summary = "Add diagram node", description = "return new diagram version")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "success"),
+            @ApiResponse(responseCode = "404", description = "diagram not found"),
+            @ApiResponse(responseCode = "409", description = "diagram modified concurrently or node already present"),
+            @ApiResponse(responseCode = "500", description = "Internal server Error")
+    })
+    @PostMapping("/{project_id}/{diagram_id}/nodes")
+    public ResponseEntity<DiagramVersionDTO> addNode(@PathVariable("project_id") String projectId,
+                                                     @PathVariable("diagram_id") String diagramId,
+                                                     @RequestParam("version") long version,
+                                                     @RequestBody Node node) {
+        return diagramService.addNode(projectId, diagramId, version, node);
+    }
+
+    /**
+     * Update the given fields of a diagram node
+     * @param projectId project id
+     * @param diagramId diagram id
+     * @param version diagram version the change is based on
+     * @param nodeId node id
+     * @param patch node fields to update
+     * @return new diagram version
+     */
+    @Operation(summary = "Update diagram node", description = "return new diagram version")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "success"),
+            @ApiResponse(responseCode = "404", description = "diagram or node not found"),
+            @ApiResponse(responseCode = "409", description = "diagram modified concurrently"),
+            @ApiResponse(responseCode = "500", description = "Internal server Error")
+    })
+    @PatchMapping("/{project_id}/{diagram_id}/nodes/{node_id}")
+    public ResponseEntity<DiagramVersionDTO> patchNode(@PathVariable("project_id") String projectId,
+                                                     @PathVariable("diagram_id") String diagramId,
+                                                     @RequestParam("version") long version,
+                                                     @PathVariable("node_id") String nodeId,
+                                                     @RequestBody NodePatchDTO patch) {
+        return diagramService.patchNode(projectId, diagramId, version, nodeId, patch);
+    }
+
+    /**
+     * Remove a node and its connections from a diagram
+     * @param projectId project id
+     * @param diagramId diagram id
+     * @param version diagram version the change is based on
+     * @param nodeId node id
+     * @return new diagram version
+     */
+    @Operation(summary = "Remove diagram node", description = "return new diagram version")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "success"),
+            @ApiResponse(responseCode = "404", description = "diagram or node not found"),
+            @ApiResponse(responseCode = "409", description = "diagram modified concurrently"),
+            @ApiResponse(responseCode = "500", description = "Internal server Error")
+    })
+    @DeleteMapping("/{project_id}/{diagram_id}/nodes/{node_id}")
+    public ResponseEntity<DiagramVersionDTO> removeNode(@PathVariable("project_id") String projectId,
+                                                     @PathVariable("diagram_id") String diagramId,
+                                                     @RequestParam("version") long version,
+                                                     @PathVariable("node_id") String nodeId) {
+        return diagramService.removeNode(projectId, diagramId, version, nodeId);
+    }
+
+    /**
+     * Add a connection to a diagram
+     * @param projectId project id
+     * @param diagramId diagram id
+     * @param version diagram version the change is based on
+     * @param connection connection to add
+     * @return new diagram version
+     */
+    @Operation(summary = "Add diagram connection", description = "return new diagram version")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "success"),
+            @ApiResponse(responseCode = "404", description = "diagram, source node or target node not found"),
+            @ApiResponse(responseCode = "409", description = "diagram modified concurrently or connection already present"),
+            @ApiResponse(responseCode = "500", description = "Internal server Error")
+    })
+    @PostMapping("/{project_id}/{diagram_id}/connections")
+    public ResponseEntity<DiagramVersionDTO> addConnection(@PathVariable("project_id") String projectId,
+                                                     @PathVariable("diagram_id") String diagramId,
+                                                     @RequestParam("version") long version,
+                                                     @RequestBody Connection connection) {
+        return diagramService.addConnection(projectId, diagramId, version, connection);
+    }
+
+    /**
+     * Update the given fields of a diagram connection
+     * @param projectId project id
+     * @param diagramId diagram id
+     * @param version diagram version the change is based on
+     * @param connectionId connection id
+     * @param patch connection fields to update
+     * @return new diagram version
+     */
+    @Operation(summary = "Update diagram connection", description = "return new diagram version")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "success"),
+            @ApiResponse(responseCode = "404", description = "diagram, connection, source node or target node not found"),
+            @ApiResponse(responseCode = "409", description = "diagram modified concurrently"),
+            @ApiResponse(responseCode = "500", description = "Internal server Error")
+    })
+    @PatchMapping("/{project_id}/{diagram_id}/connections/{connection_id}")
+    public ResponseEntity<DiagramVersionDTO> patchConnection(@PathVariable("project_id") String projectId,
+                                                     @PathVariable("diagram_id") String diagramId,
+                                                     @RequestParam("version") long version,
+                                                     @PathVariable("connection_id") String connectionId,
+                                                     @RequestBody ConnectionPatchDTO patch) {
+        return diagramService.patchConnection(projectId, diagramId, version, connectionId, patch);
+    }
+
+    /**
+     * Remove a connection from a diagram
+     * @param projectId project id
+     * @param diagramId diagram id
+     * @param version diagram version the change is based on
+     * @param connectionId connection id
+     * @return new diagram version
+     */
+    @Operation(summary = "Remove diagram connection", description = "return new diagram version")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "success"),
+            @ApiResponse(responseCode = "404", description = "diagram or connection not found"),
+            @ApiResponse(responseCode = "409", description = "diagram modified concurrently"),
+            @ApiResponse(responseCode = "500", description = "Internal server Error")
+    })
+    @DeleteMapping("/{project_id}/{diagram_id}/connections/{connection_id}")
+    public ResponseEntity<DiagramVersionDTO> removeConnection(@PathVariable("project_id") String projectId,
+                                                     @PathVariable("diagram_id") String diagramId,
+                                                     @RequestParam("version") long version,
+                                                     @PathVariable("connection_id") String connectionId) {
+        return diagramService.removeConnection(projectId, diagramId, version, connectionId);
+    }
+
     /**
      * Generate a diagram for a project
      * @param params parameters for diagram generation
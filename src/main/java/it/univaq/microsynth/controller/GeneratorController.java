@@ -2,6 +2,9 @@ package it.univaq.microsynth.controller;
 
 import it.univaq.microsynth.domain.dto.BundleGenerationRequestDTO;
 import it.univaq.microsynth.domain.dto.DiagramDTO;
+import it.univaq.microsynth.domain.dto.GenerationJobDTO;
+import it.univaq.microsynth.generator.util.GeneratorUtil;
+import it.univaq.microsynth.service.GenerationJobService;
 import it.univaq.microsynth.service.GeneratorService;
 import it.univaq.microsynth.service.ProjectService;
 import lombok.RequiredArgsConstructor;
@@ -11,9 +14,12 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.List;
 
 @Slf4j
@@ -23,6 +29,7 @@ import java.util.List;
 public class GeneratorController {
     private final GeneratorService generatorService;
     private final ProjectService projectService;
+    private final GenerationJobService generationJobService;
 
 
     /**
@@ -67,4 +74,96 @@ public class GeneratorController {
                     .body(null);
         }
     }
+
+    /**
+     * Generate the bundle of the provided project and diagram, streaming the zip archive directly to the response.
+     * Each service is written to the archive as soon as it is generated, so the download starts after the first service
+     * and no intermediate zip file is stored on disk.
+     *
+     * @param projectId The ID of the project for which to generate the code.
+     * @param diagramId The ID of the diagram to be used for code generation.
+     * @return A ResponseEntity containing a StreamingResponseBody that writes the zip archive.
+     *         - Returns HTTP 200 OK with the streamed zip archive.
+     *         - Returns HTTP 404 Not Found if the specified diagram is not found for the given project.
+     */
+    @GetMapping(value = "/generate/{project_id}/{diagram_id}/stream", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> generateStream(@PathVariable("project_id") String projectId, @PathVariable("diagram_id") String diagramId) {
+
+        log.info("[GENERATOR] Start streaming files for project {} and diagram {}", projectId, diagramId);
+        ResponseEntity<DiagramDTO> diagramResponse = projectService.getDiagramById(projectId, diagramId);
+
+        if (diagramResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
+            log.error("[GENERATOR] Diagram not found for project {} and {}", projectId, diagramId);
+            return ResponseEntity.notFound().build();
+        }
+        DiagramDTO diagram = diagramResponse.getBody();
+
+        // convert diagram to bundle generation requests
+        List<BundleGenerationRequestDTO> requests = generatorService.convertGraphToRequests(diagram);
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                generatorService.streamBundle(requests, outputStream);
+                log.info("[GENERATOR] End streaming files for project {}", projectId);
+            } catch (IOException e) {
+                log.error("[GENERATOR] error streaming bundle for {} with error {}", projectId, e.getMessage());
+                throw e;
+            } catch (Exception e) {
+                // headers are already sent, the client receives a truncated archive
+                log.error("[GENERATOR] error streaming bundle for {} with error {}", projectId, e.getMessage());
+                throw new IOException(e);
+            }
+        };
+
+        String fileName = "bundle_" + GeneratorUtil.sanitizeDockerServiceName(diagram.getName()) + ".zip";
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(body);
+    }
+
+    /**
+     * Submit the asynchronous generation of the bundle of the provided project and diagram.
+     * The request returns immediately with the job id, the progress is available from the job status endpoint.
+     *
+     * @param projectId The ID of the project for which to generate the code.
+     * @param diagramId The ID of the diagram to be used for code generation.
+     * @return A ResponseEntity containing the state of the submitted job.
+     *         - Returns HTTP 202 Accepted with the queued job.
+     *         - Returns HTTP 404 Not Found if the specified diagram is not found for the given project.
+     *         - Returns HTTP 429 Too Many Requests if the user or the server reached the limit of generation jobs.
+     */
+    @PostMapping("/jobs/{project_id}/{diagram_id}")
+    public ResponseEntity<GenerationJobDTO> submitJob(@PathVariable("project_id") String projectId, @PathVariable("diagram_id") String diagramId) {
+        String userName = SecurityContextHolder.getContext().getAuthentication().getName();
+        log.info("[GENERATOR] User {} submitting generation job for project {} and diagram {}", userName, projectId, diagramId);
+        return generationJobService.submit(projectId, diagramId, userName);
+    }
+
+    /**
+     * Get the state of a generation job, with the progress of each service of the bundle.
+     *
+     * @param jobId The ID of the job.
+     * @return A ResponseEntity containing the state of the job, or HTTP 404 Not Found if the job does not exist or expired.
+     */
+    @GetMapping("/jobs/{job_id}")
+    public ResponseEntity<GenerationJobDTO> getJob(@PathVariable("job_id") String jobId) {
+        String userName = SecurityContextHolder.getContext().getAuthentication().getName();
+        return generationJobService.getJob(jobId, userName);
+    }
+
+    /**
+     * Download the bundle generated by a completed job, available until the job expires.
+     *
+     * @param jobId The ID of the job.
+     * @return A ResponseEntity containing the generated zip file.
+     *         - Returns HTTP 200 OK with the zip file if the job is done.
+     *         - Returns HTTP 404 Not Found if the job does not exist or expired.
+     *         - Returns HTTP 409 Conflict if the job is still running or failed.
+     */
+    @GetMapping(value = "/jobs/{job_id}/download", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<FileSystemResource> downloadJob(@PathVariable("job_id") String jobId) {
+        String userName = SecurityContextHolder.getContext().getAuthentication().getName();
+        return generationJobService.download(jobId, userName);
+    }
 }
@@ -4,9 +4,7 @@ package it.univaq.microsynth.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
-import it.univaq.microsynth.domain.dto.DocumentResponseDTO;
-import it.univaq.microsynth.domain.dto.PaginatedRequestDTO;
-import it.univaq.microsynth.domain.dto.ProjectDTO;
+import it.univaq.microsynth.domain.dto.*;
 import it.univaq.microsynth.service.ProjectService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +41,23 @@ public class ProjectController {
         return projectService.getUserProjects(userName, paginatedRequestDTO);
     }
 
+    /**
+     * Get the projects of the authenticated user by cursor
+     * @param cursorRequestDTO cursor of the previous page, page size and sorting information
+     * @return page of user projects with the cursor of the next page
+     */
+    @Operation(summary = "Get user projects by cursor", description = "return page of user projects and cursor of the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "success"),
+            @ApiResponse(responseCode = "400", description = "invalid cursor or sort field"),
+            @ApiResponse(responseCode = "500", description = "Internal server Error")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<ProjectSummaryDTO>> getUserProjectsByCursor(CursorRequestDTO cursorRequestDTO) {
+        String userName = SecurityContextHolder.getContext().getAuthentication().getName();
+        return projectService.getUserProjects(userName, cursorRequestDTO);
+    }
+
     /**
      * Get a project by id
      * @param id project id
@@ -5,15 +5,18 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.io.Serial;
 
 
 /**
- * Class to represent a diagram, with its id, name and data
+ * Class to represent a diagram, with its id, name and data.
+ * Diagrams are stored in their own collection and reference the project they belong to
  */
-@Document(collection = "diagrams  ")
+@Document(collection = "diagrams")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -23,7 +26,8 @@ public class Diagram extends BaseDocument {
     private static final long serialVersionUID = -294424037526113965L;
 
     @NotNull
-    private String id;
+    @Indexed
+    private String projectId;
 
     @NotNull
     private String name;
@@ -31,4 +35,8 @@ public class Diagram extends BaseDocument {
     @NotNull
     private DiagramData data;
 
+    // optimistic locking, incremented by every save and partial update of the diagram
+    @Version
+    private Long version;
+
 }
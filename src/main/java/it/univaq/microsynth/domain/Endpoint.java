@@ -10,7 +10,7 @@ import java.util.List;
 
 
 /**
- * Class to represent an endpoint, with its path, method, parameters and responses
+ * Class to represent an endpoint, with its path, method, parameters, responses and simulated cost
  */
 @AllArgsConstructor
 @NoArgsConstructor
@@ -30,5 +30,6 @@ public class Endpoint implements Serializable {
     private List<ApiResponse> responses = List.of(new ApiResponse(200, "Successful operation", "application/json", "{}"));
     private String code = "";
     private Integer complexity = 0;
+    private LatencyModel latency; // when set it replaces the latency derived from the complexity
 
 }
@@ -0,0 +1,36 @@
+package it.univaq.microsynth.domain;
+
+import it.univaq.microsynth.Enum.LatencyDistribution;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class to represent the latency model of an endpoint: the distribution the latency of each request is sampled from,
+ * in milliseconds, and the fraction of it spent on CPU (the rest is spent waiting, as for I/O)
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class LatencyModel implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 2718281828459045235L;
+
+    private LatencyDistribution distribution = LatencyDistribution.CONSTANT;
+
+    private double value;   // CONSTANT
+    private double min;     // UNIFORM
+    private double max;     // UNIFORM
+    private double mean;    // NORMAL
+    private double stdDev;  // NORMAL
+    private double median;  // LOGNORMAL
+    private double sigma;   // LOGNORMAL, standard deviation of the logarithm
+    private List<LatencyPercentile> percentiles = new ArrayList<>(); // EMPIRICAL
+
+    private double cpuFraction = 0; // from 0 (only waiting) to 1 (only CPU)
+}
@@ -0,0 +1,22 @@
+package it.univaq.microsynth.domain;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Class to represent a point of an empirical latency distribution, e.g. p 99 -> 250 ms
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class LatencyPercentile implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 6180339887498948482L;
+
+    private double p;  // percentile, from 0 to 100
+    private double ms; // latency at the percentile
+}
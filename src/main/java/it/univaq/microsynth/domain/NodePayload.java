@@ -33,4 +33,8 @@ public class NodePayload implements Serializable {
 
     @NotNull
     private Boolean initiator = false;
+
+    private Boolean virtualThreads = false; // java only: Spring Boot 3 on Java 21 serving requests on virtual threads
+
+    private Boolean cluster = false; // javascript only: one Express server per container CPU under a cluster supervisor
 }
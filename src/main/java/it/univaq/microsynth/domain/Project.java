@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -13,6 +16,14 @@ import java.util.List;
  * Class to represent a project, with its name, owner and diagrams
  */
 @Document(collection = "projects")
+// the project list filters by owner and sorts by one of these fields (dates newest first), with the id in the same direction as tie-breaker,
+// so each index serves both sort directions
+@CompoundIndexes({
+        @CompoundIndex(name = "owner_name", def = "{ 'owner': 1, 'name': 1, '_id': 1 }"),
+        @CompoundIndex(name = "owner_createdAt_desc", def = "{ 'owner': 1, 'createdAt': -1, '_id': -1 }"),
+        @CompoundIndex(name = "owner_updatedAt_desc", def = "{ 'owner': 1, 'updatedAt': -1, '_id': -1 }"),
+        @CompoundIndex(name = "owner_id", def = "{ 'owner': 1, '_id': 1 }")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -26,6 +37,8 @@ public class Project extends BaseDocument {
     @NotNull
     private String owner;
 
+    // diagrams are stored in their own collection, this field is only filled when returning the project
+    @Transient
     private List<Diagram> diagrams;
 
 }
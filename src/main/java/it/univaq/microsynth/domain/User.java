@@ -1,6 +1,8 @@
 package it.univaq.microsynth.domain;
 
 import lombok.*;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Set;
@@ -9,6 +11,14 @@ import java.util.Set;
  * Class to represent a user, with its username, password, email, firstname, lastname and roles
  */
 @Document(collection = "users")
+// the cursor paginated user list sorts by one of these fields (dates newest first), with the id in the same direction as tie-breaker,
+// so each index serves both sort directions
+@CompoundIndexes({
+        @CompoundIndex(name = "username_id", def = "{ 'username': 1, '_id': 1 }"),
+        @CompoundIndex(name = "email_id", def = "{ 'email': 1, '_id': 1 }"),
+        @CompoundIndex(name = "createdAt_desc", def = "{ 'createdAt': -1, '_id': -1 }"),
+        @CompoundIndex(name = "updatedAt_desc", def = "{ 'updatedAt': -1, '_id': -1 }")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -22,5 +22,7 @@ public class BundleGenerationRequestDTO {
     private String projectName;
     private List<OutgoingCallDTO> outgoingCalls;
     private Boolean initiator; // true if this request is the initiator of the generation process, false otherwise
+    private Boolean virtualThreads; // true to generate a Spring Boot 3 service on Java 21 using virtual threads (java only)
+    private Boolean cluster; // true to start the service in cluster mode, one worker per container CPU (javascript only)
 
 }
@@ -0,0 +1,32 @@
+package it.univaq.microsynth.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import it.univaq.microsynth.domain.ConnectionPayload;
+import lombok.*;
+
+
+/**
+ * DTO to represent a partial update of a diagram connection, only the non null fields are changed
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Schema(description = "DTO to represent a partial update of a diagram connection, only the non null fields are changed")
+public class ConnectionPatchDTO {
+    @Schema(description = "ID of the new source node, must be a node of the diagram", nullable = true)
+    private String source;
+
+    @Schema(description = "ID of the new target node, must be a node of the diagram", nullable = true)
+    private String target;
+
+    @Schema(description = "Connection's label", example = "GET_path-2", nullable = true)
+    private String label;
+
+    @Schema(description = "Connection's weight (call probability)", example = "0.5", nullable = true)
+    private Double weight;
+
+    @Schema(description = "Connection's payload", nullable = true)
+    private ConnectionPayload payload;
+}
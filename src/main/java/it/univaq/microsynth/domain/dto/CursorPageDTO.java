@@ -0,0 +1,27 @@
+package it.univaq.microsynth.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+
+/**
+ * DTO to represent a page of a cursor paginated response
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Schema(description = "DTO to represent a page of a cursor paginated response")
+public class CursorPageDTO<T> {
+    @Schema(description = "Elements of the page")
+    private List<T> content = List.of();
+
+    @Schema(description = "Cursor of the next page, null if this is the last page", nullable = true)
+    private String nextCursor;
+
+    @Schema(description = "Whether there are more elements after this page")
+    private boolean hasNext;
+}
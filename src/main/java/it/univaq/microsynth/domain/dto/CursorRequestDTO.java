@@ -0,0 +1,22 @@
+package it.univaq.microsynth.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+
+/**
+ * DTO to represent a cursor paginated request
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Schema(description = "DTO to represent a cursor paginated request")
+public class CursorRequestDTO {
+    @Schema(description = "Cursor returned with the previous page, empty for the first page", nullable = true)
+    String cursor;
+    int size = 10;
+    String sortBy = "id";
+    String sortDir = "asc";
+}
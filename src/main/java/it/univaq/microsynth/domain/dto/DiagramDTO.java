@@ -24,5 +24,7 @@ public class DiagramDTO {
 
     @Schema(description = "Diagram's data ")
     private DiagramData data;
+    @Schema(description = "Diagram's version, when provided the update fails if the diagram was modified in the meantime", example = "3", nullable = true)
+    private Long version;
 
 }
\ No newline at end of file
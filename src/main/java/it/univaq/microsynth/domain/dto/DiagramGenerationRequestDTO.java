@@ -1,8 +1,10 @@
 package it.univaq.microsynth.domain.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import it.univaq.microsynth.Enum.TopologyModel;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -23,7 +25,11 @@ import java.util.Set;
 @ToString
 @Schema(description = "DTO to represent a generate diagram request")
 public class DiagramGenerationRequestDTO {
+    // largest diagram that can be generated, also the largest number of layers
+    public static final int MAX_NODES = 100000;
+
     @Min(value = 1, message = "Number of nodes must be at least 1")
+    @Max(value = MAX_NODES, message = "Number of nodes cannot be greater than " + MAX_NODES)
     private int nodes;
 
     @Min(value = 0, message = "Number of roots cannot be negative")
@@ -36,4 +42,27 @@ public class DiagramGenerationRequestDTO {
     private Set<String> languages;
 
     private Boolean outgoingProbabiltySum;
+
+    // optional seed, requests with the same parameters and seed generate identical diagrams
+    private Long seed;
+
+    // shape of the generated call graph, RANDOM_DAG (nodes, roots and density) when not set
+    private TopologyModel topology;
+
+    // LAYERED: number of tiers, each tier calls the next one
+    @Min(value = 1, message = "Number of layers must be at least 1")
+    @Max(value = MAX_NODES, message = "Number of layers cannot be greater than " + MAX_NODES)
+    private Integer layers;
+
+    // FAN_OUT_TREE: maximum depth of the tree, the root is at depth 0
+    @Min(value = 0, message = "Depth cannot be negative")
+    private Integer depth;
+
+    // FAN_OUT_TREE: children of each node, LAYERED: calls from each node to the next tier, lower than the number of nodes
+    @Min(value = 1, message = "Branching must be at least 1")
+    private Integer branching;
+
+    // BARABASI_ALBERT: calls added by each new node to the existing ones, lower than the number of nodes
+    @Min(value = 1, message = "Attachments must be at least 1")
+    private Integer attachments;
 }
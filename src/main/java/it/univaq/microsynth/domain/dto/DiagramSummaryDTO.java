@@ -0,0 +1,22 @@
+package it.univaq.microsynth.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+
+/**
+ * DTO to represent a diagram in the project list, without its data
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Schema(description = "DTO to represent a diagram in the project list, without its data")
+public class DiagramSummaryDTO {
+    @Schema(description = "ID", example = "96c1befd426")
+    private String id;
+
+    @Schema(description = "Diagram's name", example = "New Diagram")
+    private String name;
+}
@@ -0,0 +1,22 @@
+package it.univaq.microsynth.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+
+/**
+ * DTO to represent the version of a diagram after an update
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Schema(description = "DTO to represent the version of a diagram after an update")
+public class DiagramVersionDTO {
+    @Schema(description = "ID", example = "96c1befd426")
+    private String id;
+
+    @Schema(description = "New version of the diagram, to be sent with the next update", example = "4")
+    private Long version;
+}
@@ -0,0 +1,47 @@
+package it.univaq.microsynth.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import it.univaq.microsynth.Enum.GenerationStatus;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.Map;
+
+
+/**
+ * DTO to represent the state of an asynchronous generation job
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Schema(description = "DTO to represent the state of an asynchronous generation job")
+public class GenerationJobDTO {
+    @Schema(description = "Job ID", example = "0f8fad5b-d9cb-469f-a165-70867728950e")
+    private String jobId;
+
+    @Schema(description = "Project ID", example = "96c1befd426")
+    private String projectId;
+
+    @Schema(description = "Diagram ID", example = "a61f3c2d7b1")
+    private String diagramId;
+
+    @Schema(description = "Status of the job", example = "GENERATING")
+    private GenerationStatus status;
+
+    @Schema(description = "Status of each service of the bundle, by service name")
+    private Map<String, GenerationStatus> services;
+
+    @Schema(description = "Submission time of the job")
+    private Instant createdAt;
+
+    @Schema(description = "Completion time of the job, null while it is running")
+    private Instant completedAt;
+
+    @Schema(description = "Time after which the generated bundle is no longer available, null while the job is running")
+    private Instant expiresAt;
+
+    @Schema(description = "Error message if the job failed")
+    private String error;
+}
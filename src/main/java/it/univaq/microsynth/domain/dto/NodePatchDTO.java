@@ -0,0 +1,33 @@
+package it.univaq.microsynth.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import it.univaq.microsynth.domain.NodePayload;
+import it.univaq.microsynth.domain.Position;
+import lombok.*;
+
+
+/**
+ * DTO to represent a partial update of a diagram node, only the non null fields are changed
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Schema(description = "DTO to represent a partial update of a diagram node, only the non null fields are changed")
+public class NodePatchDTO {
+    @Schema(description = "Node's label", example = "S 1", nullable = true)
+    private String label;
+
+    @Schema(description = "Node's shape", example = "circle", nullable = true)
+    private String shape;
+
+    @Schema(description = "Node's position", nullable = true)
+    private Position position;
+
+    @Schema(description = "Node's payload", nullable = true)
+    private NodePayload payload;
+
+    @Schema(description = "Node's weight", example = "0.5", nullable = true)
+    private Double weight;
+}
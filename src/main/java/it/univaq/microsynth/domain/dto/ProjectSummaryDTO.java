@@ -0,0 +1,37 @@
+package it.univaq.microsynth.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+/**
+ * DTO to represent a project in the project list, with the names of its diagrams but not their data
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Schema(description = "DTO to represent a project in the project list")
+public class ProjectSummaryDTO {
+    @Schema(description = "ID", example = "96c1befd426")
+    private String id;
+
+    @Schema(description = "Project's name", example = "New Project")
+    private String name;
+
+    private String userName;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @Schema(description = "Number of diagrams of the project", example = "2")
+    private int diagramCount;
+
+    @Schema(description = "Project's diagrams, without their data")
+    private List<DiagramSummaryDTO> diagrams = List.of();
+}
@@ -3,6 +3,7 @@ package it.univaq.microsynth.domain.mapper;
 import it.univaq.microsynth.domain.Diagram;
 import it.univaq.microsynth.domain.dto.DiagramDTO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 
@@ -21,10 +22,11 @@ public interface DiagramMapper {
     DiagramDTO diagramToDiagramDTO(Diagram diagram);
 
     /**
-     * Maps a DiagramDTO to a Diagram
+     * Maps a DiagramDTO to a Diagram, the project of the diagram is set by the service
      * @param diagramDTO the DiagramDTO to map
      * @return the mapped Diagram
      */
+    @Mapping(target = "projectId", ignore = true)
     Diagram diagramDTOToDiagram(DiagramDTO diagramDTO);
 
 }
@@ -1,7 +1,10 @@
 package it.univaq.microsynth.domain.mapper;
 
+import it.univaq.microsynth.domain.Diagram;
 import it.univaq.microsynth.domain.Project;
+import it.univaq.microsynth.domain.dto.DiagramDTO;
 import it.univaq.microsynth.domain.dto.ProjectDTO;
+import it.univaq.microsynth.domain.dto.ProjectSummaryDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
@@ -21,6 +24,15 @@ public interface ProjectMapper {
     @Mapping(target = "userName", source = "owner")
     ProjectDTO projectToProjectDTO(Project project);
 
+    /**
+     * Maps a Project, with the diagram summaries loaded, to a ProjectSummaryDTO
+     * @param project the Project to map
+     * @return the mapped ProjectSummaryDTO
+     */
+    @Mapping(target = "userName", source = "owner")
+    @Mapping(target = "diagramCount", expression = "java(project.getDiagrams() == null ? 0 : project.getDiagrams().size())")
+    ProjectSummaryDTO projectToProjectSummaryDTO(Project project);
+
     /**
      * Maps a ProjectDTO to a Project
      * @param projectDTO the ProjectDTO to map
@@ -29,4 +41,12 @@ public interface ProjectMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "owner", source = "userName")
     Project projectDTOtoProject(ProjectDTO projectDTO);
+
+    /**
+     * Maps a DiagramDTO of a project to a Diagram, the project of the diagram is set by the service
+     * @param diagramDTO the DiagramDTO to map
+     * @return the mapped Diagram
+     */
+    @Mapping(target = "projectId", ignore = true)
+    Diagram diagramDTOToDiagram(DiagramDTO diagramDTO);
 }
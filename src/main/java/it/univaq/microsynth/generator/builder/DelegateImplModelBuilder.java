@@ -50,6 +50,7 @@ public class DelegateImplModelBuilder {
                 om.setOperationId((String) op.get("operationId"));
                 om.setHttpMethod(methodEntry.getKey().toUpperCase());
                 om.setComplexity((Integer) op.get("x-complexity"));
+                om.setLatency((Map<String, Object>) op.get("x-latency"));
 
 
                 // operation parameters
@@ -0,0 +1,344 @@
+package it.univaq.microsynth.generator.cache;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+
+/**
+ * Content-addressed cache of the directories produced by OpenAPI Generator for a single service.
+ * Entries are keyed by a hash of generator name, OpenAPI spec, outgoing calls, generator options and template version,
+ * stored on local disk and evicted in LRU order when the configured size is exceeded.
+ * The files of an entry are read-only: services are restored with hard links, so a write to a restored file would
+ * otherwise change the cache entry as well.
+ */
+@Slf4j
+@Component
+public class GeneratedServiceCache {
+    // Bump when the layout of the generated output changes without a template change
+    // 2: read-only entries
+    // 3: only entries with a complete generator manifest, entries stored before may be partial
+    private static final String CACHE_FORMAT_VERSION = "3";
+
+    // Written by OpenAPI Generator after all the other files, lists the generated files relative to the output directory
+    private static final String GENERATOR_MANIFEST = ".openapi-generator/FILES";
+
+    // Canonical JSON writer, map keys and properties are sorted so equal content gives equal keys
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .build();
+
+    @Value("${generator.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${generator.cache.dir:${java.io.tmpdir}/microsynth-generator-cache}")
+    private String cacheDir;
+
+    @Value("${generator.cache.max-size-mb:512}")
+    private long maxSizeMb;
+
+    private final MeterRegistry meterRegistry;
+
+    // key -> entry size in bytes, in access order (eldest first)
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+
+    // generator name -> fingerprint of its custom templates
+    private final Map<String, String> templateFingerprints = new ConcurrentHashMap<>();
+
+    private Path root;
+    private Counter hits;
+    private Counter misses;
+    private Counter bytesSaved;
+
+    public GeneratedServiceCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Creates the cache directory, indexes the entries left by a previous run and registers the cache metrics.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        hits = Counter.builder("generator.cache.hits")
+                .description("Services restored from the generation cache")
+                .register(meterRegistry);
+        misses = Counter.builder("generator.cache.misses")
+                .description("Services generated because they were not in the generation cache")
+                .register(meterRegistry);
+        bytesSaved = Counter.builder("generator.cache.bytes.saved")
+                .description("Bytes copied from the generation cache instead of being regenerated")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("generator.cache.size", this, GeneratedServiceCache::getTotalBytes)
+                .description("Size on disk of the generation cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            log.info("[CACHE] Generation cache disabled");
+            return;
+        }
+
+        root = Paths.get(cacheDir);
+        Files.createDirectories(root);
+
+        // restore index from disk, least recently used first
+        List<Path> existing;
+        try (Stream<Path> dirs = Files.list(root)) {
+            existing = dirs.filter(Files::isDirectory)
+                    .filter(p -> !p.getFileName().toString().startsWith("."))
+                    .sorted(Comparator.comparing(GeneratedServiceCache::lastModified))
+                    .toList();
+        }
+        synchronized (this) {
+            for (Path entry : existing) {
+                long size = sizeOf(entry);
+                entries.put(entry.getFileName().toString(), size);
+                totalBytes += size;
+            }
+            evict();
+        }
+        log.info("[CACHE] Generation cache at {} with {} entries ({} bytes)", root, entries.size(), totalBytes);
+    }
+
+    /**
+     * Computes the cache key of a service.
+     * @param generatorName - the OpenAPI generator used for the service
+     * @param apiSpec - the OpenAPI specification of the service
+     * @param outgoingCalls - the outgoing calls of the service
+     * @param options - the options of the service changing the generated code (e.g. virtual threads)
+     * @param templateDir - the directory of the custom templates used by the generator
+     * @return the hex encoded SHA-256 key of the service
+     * @throws IOException if the inputs cannot be serialized or the templates cannot be read
+     */
+    public String key(String generatorName, Map<String, Object> apiSpec, Object outgoingCalls, Map<String, Object> options, Path templateDir) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(CACHE_FORMAT_VERSION.getBytes(StandardCharsets.UTF_8));
+        digest.update(generatorName.getBytes(StandardCharsets.UTF_8));
+        digest.update(templateFingerprint(generatorName, templateDir).getBytes(StandardCharsets.UTF_8));
+        digest.update(CANONICAL_MAPPER.writeValueAsBytes(apiSpec));
+        digest.update(CANONICAL_MAPPER.writeValueAsBytes(outgoingCalls));
+        digest.update(CANONICAL_MAPPER.writeValueAsBytes(options));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Copies a cached service into the output directory, using hard links when the file system allows it.
+     * Linked files share the read-only permission of the entry, so an in-place write to them fails instead of corrupting the cache.
+     * @param key - the cache key of the service
+     * @param outputDir - the directory where the generated code is expected
+     * @return true if the service was restored from the cache, false on a miss
+     */
+    public boolean restore(String key, Path outputDir) {
+        if (!enabled) {
+            return false;
+        }
+        Long size;
+        synchronized (this) {
+            size = entries.get(key);
+        }
+        if (size == null) {
+            misses.increment();
+            return false;
+        }
+
+        Path entry = root.resolve(key);
+        try {
+            copyTree(entry, outputDir, true);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException | UncheckedIOException e) {
+            // entry evicted or corrupted while copying, fall back to a regular generation
+            log.warn("[CACHE] Unable to restore entry {}: {}", key, e.getMessage());
+            deleteTree(outputDir);
+            misses.increment();
+            return false;
+        }
+        hits.increment();
+        bytesSaved.increment(size);
+        log.info("[CACHE] Restored service from cache entry {}", key);
+        return true;
+    }
+
+    /**
+     * Stores the generated directory of a service in the cache.
+     * The entry is first written in a staging directory and then moved, so concurrent readers never see partial entries.
+     * Directories without a complete generator manifest are not stored, since their generation did not finish.
+     * @param key - the cache key of the service
+     * @param outputDir - the directory containing the generated code
+     */
+    public void store(String key, Path outputDir) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (entries.containsKey(key)) {
+                return;
+            }
+        }
+
+        Path staging = root.resolve(".staging-" + UUID.randomUUID());
+        Path entry = root.resolve(key);
+        try {
+            copyTree(outputDir, staging, false);
+            checkManifest(staging);
+            makeReadOnly(staging);
+            long size = sizeOf(staging);
+            Files.move(staging, entry, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (this) {
+                entries.put(key, size);
+                totalBytes += size;
+                evict();
+            }
+            log.info("[CACHE] Stored cache entry {} ({} bytes)", key, size);
+        } catch (IOException | UncheckedIOException e) {
+            // another worker stored the same entry first, or the disk is full: the cache is best effort
+            log.warn("[CACHE] Unable to store entry {}: {}", key, e.getMessage());
+            deleteTree(staging);
+        }
+    }
+
+    /**
+     * Returns the current size on disk of the cache.
+     * @return the size in bytes of all the cache entries
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Removes the least recently used entries until the cache fits the configured size.
+     * Must be called holding the lock of the cache.
+     */
+    private void evict() {
+        long maxBytes = maxSizeMb * 1024 * 1024;
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            it.remove();
+            totalBytes -= eldest.getValue();
+            deleteTree(root.resolve(eldest.getKey()));
+            log.info("[CACHE] Evicted cache entry {}", eldest.getKey());
+        }
+    }
+
+    /**
+     * Computes (once per generator) a fingerprint of the custom templates, so a template change invalidates the cache.
+     */
+    private String templateFingerprint(String generatorName, Path templateDir) {
+        return templateFingerprints.computeIfAbsent(generatorName, name -> {
+            MessageDigest digest = sha256();
+            try (Stream<Path> files = Files.walk(templateDir)) {
+                for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                    digest.update(templateDir.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                    digest.update(Files.readAllBytes(file));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        });
+    }
+
+    private static void copyTree(Path source, Path target, boolean link) throws IOException {
+        try (Stream<Path> paths = Files.walk(source)) {
+            paths.forEach(src -> {
+                Path dest = target.resolve(source.relativize(src).toString());
+                try {
+                    if (Files.isDirectory(src)) {
+                        Files.createDirectories(dest);
+                    } else if (link) {
+                        try {
+                            Files.createLink(dest, src);
+                        } catch (UnsupportedOperationException | IOException e) {
+                            Files.copy(src, dest, StandardCopyOption.REPLACE_EXISTING);
+                        }
+                    } else {
+                        Files.copy(src, dest, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Checks that the generator manifest exists and that every file it lists has been written.
+     */
+    private static void checkManifest(Path dir) throws IOException {
+        Path manifest = dir.resolve(GENERATOR_MANIFEST);
+        if (!Files.isRegularFile(manifest)) {
+            throw new IOException("missing generator manifest " + GENERATOR_MANIFEST);
+        }
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            String file = line.strip();
+            if (!file.isEmpty() && !Files.exists(dir.resolve(file))) {
+                throw new IOException("incomplete generation, missing " + file);
+            }
+        }
+    }
+
+    private static void makeReadOnly(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.filter(Files::isRegularFile).forEach(p -> p.toFile().setWritable(false, false));
+        }
+    }
+
+    private static void deleteTree(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> {
+                // read-only entries can not be deleted on every file system
+                if (!p.toFile().delete()) {
+                    p.toFile().setWritable(true);
+                    p.toFile().delete();
+                }
+            });
+        } catch (IOException e) {
+            log.warn("[CACHE] Unable to delete {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private static long sizeOf(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long lastModified(Path p) {
+        return p.toFile().lastModified();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
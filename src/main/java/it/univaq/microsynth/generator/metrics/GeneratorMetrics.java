@@ -0,0 +1,212 @@
+package it.univaq.microsynth.generator.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+
+/**
+ * Metrics of the bundle generation: duration of each phase, generated bundles and services,
+ * bundles in progress and disk used by their temporary directories.
+ * The disk usage walks the generated files, so it is refreshed on a timer and the gauge only reads the last value.
+ * Phase timers are tagged by phase, language and bundle size, phases covering the whole bundle use the language "all".
+ */
+@Component
+public class GeneratorMetrics {
+    // Tag value of the phases that are not bound to a single service
+    public static final String ALL_LANGUAGES = "all";
+
+    public static final String PHASE_CONVERT = "convert";
+    public static final String PHASE_SPEC = "spec";
+    public static final String PHASE_CODEGEN = "codegen";
+    public static final String PHASE_DOCKERFILE = "dockerfile";
+    public static final String PHASE_BUNDLE_FILES = "bundle-files";
+    public static final String PHASE_ZIP = "zip";
+    public static final String PHASE_BUNDLE = "bundle";
+
+    private final MeterRegistry meterRegistry;
+
+    // bundles being generated
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // temporary directories of the bundles being generated
+    private final Set<Path> tempDirs = ConcurrentHashMap.newKeySet();
+
+    // size of the temporary directories at the last refresh
+    private final AtomicLong tempDiskUsage = new AtomicLong();
+
+    public GeneratorMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registers the gauges of the bundles in progress.
+     */
+    @PostConstruct
+    public void init() {
+        Gauge.builder("generator.bundles.in.flight", inFlight, AtomicInteger::get)
+                .description("Bundles being generated")
+                .register(meterRegistry);
+        Gauge.builder("generator.temp.disk.usage", this, GeneratorMetrics::getTempDiskUsage)
+                .description("Size on disk of the temporary directories of the bundles being generated")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @return the sample to pass to {@link #stop}
+     */
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Stops timing a phase, recording its duration.
+     *
+     * @param sample     the sample returned by {@link #start}
+     * @param phase      the generation phase, one of the PHASE_ constants
+     * @param language   the language of the service, or {@link #ALL_LANGUAGES} for the bundle phases
+     * @param bundleSize the number of services of the bundle
+     */
+    public void stop(Timer.Sample sample, String phase, String language, int bundleSize) {
+        sample.stop(phaseTimer(phase, language, bundleSize));
+    }
+
+    /**
+     * Records the duration of a phase measured by the caller, e.g. a phase interleaved with others.
+     *
+     * @param phase      the generation phase, one of the PHASE_ constants
+     * @param language   the language of the service, or {@link #ALL_LANGUAGES} for the bundle phases
+     * @param bundleSize the number of services of the bundle
+     * @param nanos      the duration of the phase in nanoseconds
+     */
+    public void record(String phase, String language, int bundleSize, long nanos) {
+        phaseTimer(phase, language, bundleSize).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Tracks a bundle whose generation started.
+     *
+     * @param tempDir the temporary directory of the bundle
+     */
+    public void bundleStarted(Path tempDir) {
+        inFlight.incrementAndGet();
+        tempDirs.add(tempDir);
+    }
+
+    /**
+     * Tracks a bundle whose generation ended.
+     *
+     * @param tempDir    the temporary directory of the bundle
+     * @param bundleSize the number of services of the bundle
+     * @param success    whether the bundle was generated
+     */
+    public void bundleFinished(Path tempDir, int bundleSize, boolean success) {
+        tempDirs.remove(tempDir);
+        if (tempDirs.isEmpty()) {
+            tempDiskUsage.set(0);
+        }
+        inFlight.decrementAndGet();
+        Counter.builder("generator.bundles")
+                .description("Generated bundles")
+                .tag("result", success ? "success" : "failure")
+                .tag("bundle.size", bundleSizeRange(bundleSize))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Counts a service generated with OpenAPI Generator.
+     *
+     * @param language the language of the service
+     */
+    public void serviceGenerated(String language) {
+        Counter.builder("generator.services")
+                .description("Services generated with OpenAPI Generator")
+                .tag("language", language != null ? language : "unknown")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * @return the size in bytes of the temporary directories of the bundles being generated, at the last refresh
+     */
+    public long getTempDiskUsage() {
+        return tempDiskUsage.get();
+    }
+
+    /**
+     * Measures the temporary directories of the bundles being generated, outside the scrapes of the metrics.
+     */
+    @Scheduled(fixedDelayString = "${generator.metrics.temp-disk-refresh-ms:15000}")
+    public void refreshTempDiskUsage() {
+        long total = 0;
+        for (Path dir : tempDirs) {
+            total += sizeOf(dir);
+        }
+        tempDiskUsage.set(tempDirs.isEmpty() ? 0 : total);
+    }
+
+    private Timer phaseTimer(String phase, String language, int bundleSize) {
+        return Timer.builder("generator.phase")
+                .description("Duration of the phases of the bundle generation")
+                .tag("phase", phase)
+                .tag("language", language != null ? language : "unknown")
+                .tag("bundle.size", bundleSizeRange(bundleSize))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // bundle sizes are grouped in ranges to keep the number of time series bounded
+    private static String bundleSizeRange(int bundleSize) {
+        if (bundleSize <= 10) {
+            return "1-10";
+        }
+        if (bundleSize <= 50) {
+            return "11-50";
+        }
+        if (bundleSize <= 200) {
+            return "51-200";
+        }
+        if (bundleSize <= 1000) {
+            return "201-1000";
+        }
+        return "1000+";
+    }
+
+    private static long sizeOf(Path dir) {
+        if (!Files.exists(dir)) {
+            return 0;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile).mapToLong(path -> {
+                try {
+                    return Files.size(path);
+                } catch (IOException e) {
+                    // the file has been removed meanwhile
+                    return 0;
+                }
+            }).sum();
+        } catch (IOException | UncheckedIOException e) {
+            // the directory is being removed
+            return 0;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.List;
+import java.util.Map;
 
 @Setter
 @Getter
@@ -13,6 +14,7 @@ public class DelegateOperationModel {
     private String methodSignature;
     private String logLine;
     private int complexity;
+    private Map<String, Object> latency;
     private List<DelegateParamModel> parameters;
     private DelegateBodyModel body;
     private List<OutgoingCallModel> outgoingCalls;
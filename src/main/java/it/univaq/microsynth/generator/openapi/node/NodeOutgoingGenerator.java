@@ -5,12 +5,13 @@ import org.openapitools.codegen.languages.NodeJSExpressServerCodegen;
 
 
 /**
- * Custom generator for Node.js Express, extending the default NodeJSExpressServerCodegen and adding custom supporting files for outgoing calls
+ * Custom generator for Node.js Express, extending the default NodeJSExpressServerCodegen and adding custom supporting files
+ * for outgoing calls, cluster mode and the complexity worker threads
  */
 public class NodeOutgoingGenerator extends NodeJSExpressServerCodegen {
 
     /**
-     * Override the processOpts method to add custom supporting files for outgoing calls
+     * Override the processOpts method to add custom supporting files for outgoing calls, cluster mode and complexity worker threads
      */
     @Override
     public void processOpts() {
@@ -23,6 +24,32 @@ public class NodeOutgoingGenerator extends NodeJSExpressServerCodegen {
                         "outgoingClient.js"
                 )
         );
+
+        // cluster supervisor, started instead of index.js by the Dockerfile of services in cluster mode
+        supportingFiles.add(
+                new SupportingFile(
+                        "cluster.mustache",
+                        "",
+                        "cluster.js"
+                )
+        );
+
+        supportingFiles.add(
+                new SupportingFile(
+                        "complexityWorker.mustache",
+                        "",
+                        "complexityWorker.js"
+                )
+        );
+
+        // latency samplers of the operations with x-latency
+        supportingFiles.add(
+                new SupportingFile(
+                        "latency.mustache",
+                        "",
+                        "latency.js"
+                )
+        );
     }
 
     /**
@@ -6,12 +6,12 @@ import org.openapitools.codegen.SupportingFile;
 
 /**
  *  Custom generator for Python Flask, extending the default PythonFlaskConnexionServerCodegen and adding custom supporting files
- *  for outgoing calls and delegate implementation
+ *  for outgoing calls, calibrated CPU work, delegate implementation and the gunicorn production server
  */
 public class PythonOutgoingGenerator extends PythonFlaskConnexionServerCodegen {
 
     /**
-     * Override the processOpts method to add custom supporting files for outgoing calls and delegate implementation
+     * Override the processOpts method to add custom supporting files for outgoing calls, CPU work, delegate implementation and gunicorn
      */
     @Override
     public void processOpts() {
@@ -25,6 +25,40 @@ public class PythonOutgoingGenerator extends PythonFlaskConnexionServerCodegen {
                         "outgoing_client.py"
                 )
         );
+
+        // Scrive openapi_server/cpu_work.py, lavoro CPU calibrato della complessita simulata
+        supportingFiles.add(
+                new SupportingFile(
+                        "cpu_work.mustache",
+                        "openapi_server",
+                        "cpu_work.py"
+                )
+        );
+
+        // Scrive openapi_server/latency.py, campionamento della latenza delle operazioni con x-latency
+        supportingFiles.add(
+                new SupportingFile(
+                        "latency.mustache",
+                        "openapi_server",
+                        "latency.py"
+                )
+        );
+
+        // Scrive openapi_server/wsgi.py e gunicorn.conf.py, usati dal Dockerfile al posto del server di sviluppo
+        supportingFiles.add(
+                new SupportingFile(
+                        "wsgi.mustache",
+                        "openapi_server",
+                        "wsgi.py"
+                )
+        );
+        supportingFiles.add(
+                new SupportingFile(
+                        "gunicorn_conf.mustache",
+                        "",
+                        "gunicorn.conf.py"
+                )
+        );
     }
 
     /**
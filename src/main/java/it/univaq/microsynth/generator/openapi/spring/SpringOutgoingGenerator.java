@@ -7,13 +7,13 @@ import org.openapitools.codegen.languages.SpringCodegen;
 import java.io.File;
 
 /**
- * Custom generator for Spring, extending the default SpringCodegen and adding custom supporting files for outgoing calls and delegate implementation
+ * Custom generator for Spring, extending the default SpringCodegen and adding custom supporting files for outgoing calls, CPU work, latency and delegate implementation
  */
 @Slf4j
 public class SpringOutgoingGenerator extends SpringCodegen {
 
     /**
-     * Override the processOpts method to add custom supporting files for outgoing calls and delegate implementation
+     * Override the processOpts method to add custom supporting files for outgoing calls, CPU work, latency and delegate implementation
      */
     @Override
     public void processOpts() {
@@ -30,6 +30,22 @@ public class SpringOutgoingGenerator extends SpringCodegen {
                         "OutgoingCallService.java"
                 )
         );
+        //Calibrated CPU work of the simulated complexity
+        supportingFiles.add(
+                new SupportingFile(
+                        "CpuWork.mustache",
+                        "src/main/java/" + invokerPath + "/work",
+                        "CpuWork.java"
+                )
+        );
+        //Latency model of the operations with x-latency
+        supportingFiles.add(
+                new SupportingFile(
+                        "Latency.mustache",
+                        "src/main/java/" + invokerPath + "/work",
+                        "Latency.java"
+                )
+        );
         //Delegate impl
         supportingFiles.add(
                 new SupportingFile(
@@ -0,0 +1,82 @@
+package it.univaq.microsynth.generator.topology;
+
+import it.univaq.microsynth.Enum.TopologyModel;
+import it.univaq.microsynth.domain.dto.DiagramGenerationRequestDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.random.RandomGenerator;
+
+
+/**
+ * Scale-free topology built by Barabási–Albert preferential attachment.
+ * Nodes are added one at a time and each new node calls "attachments" distinct existing nodes, chosen with probability
+ * proportional to their degree, so a few hub services receive most of the calls. Calls always go to older nodes, so the graph is acyclic.
+ * Degree-proportional choice picks a random entry of the list of edge endpoints, which keeps the generation linear.
+ */
+@Component
+public class BarabasiAlbertTopologyGenerator implements TopologyGenerator {
+    private static final int DEFAULT_ATTACHMENTS = 2;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TopologyModel getModel() {
+        return TopologyModel.BARABASI_ALBERT;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Topology generate(DiagramGenerationRequestDTO params, RandomGenerator random) throws IllegalArgumentException {
+        int n = params.getNodes();
+        int m = params.getAttachments() != null ? params.getAttachments() : DEFAULT_ATTACHMENTS;
+
+        if (params.getAttachments() != null && m >= n) {
+            throw new IllegalArgumentException("Number of attachments must be lower than number of nodes.");
+        }
+
+        // every node appears once, plus once for each edge it belongs to
+        int edges = TopologyBuilder.checkEdges(Math.multiplyExact((long) n, m));
+        int[] endpoints = new int[TopologyBuilder.checkEdges(n + 2L * edges)];
+        int endpointCount = 0;
+        int[] chosen = new int[m];
+
+        TopologyBuilder builder = new TopologyBuilder(n, edges);
+        for (int i = 0; i < n; i++) {
+            int k = Math.min(m, i);
+            if (k == i) {
+                // not enough nodes yet, call all of them
+                for (int t = 0; t < i; t++) {
+                    chosen[t] = t;
+                }
+            } else {
+                for (int c = 0; c < k; c++) {
+                    int candidate;
+                    do {
+                        candidate = endpoints[random.nextInt(endpointCount)];
+                    } while (contains(chosen, c, candidate));
+                    chosen[c] = candidate;
+                }
+            }
+
+            for (int c = 0; c < k; c++) {
+                builder.addEdge(i, chosen[c]);
+                endpoints[endpointCount++] = chosen[c];
+                endpoints[endpointCount++] = i;
+            }
+            endpoints[endpointCount++] = i;
+        }
+        return builder.build();
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package it.univaq.microsynth.generator.topology;
+
+import it.univaq.microsynth.Enum.TopologyModel;
+import it.univaq.microsynth.domain.dto.DiagramGenerationRequestDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.random.RandomGenerator;
+
+
+/**
+ * Chain of services: each node calls the next one, the first node is the only root.
+ */
+@Component
+public class ChainTopologyGenerator implements TopologyGenerator {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TopologyModel getModel() {
+        return TopologyModel.CHAIN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Topology generate(DiagramGenerationRequestDTO params, RandomGenerator random) {
+        int n = params.getNodes();
+        TopologyBuilder builder = new TopologyBuilder(n, n - 1);
+        for (int i = 0; i < n - 1; i++) {
+            builder.addEdge(i, i + 1);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,52 @@
+package it.univaq.microsynth.generator.topology;
+
+import it.univaq.microsynth.Enum.TopologyModel;
+import it.univaq.microsynth.domain.dto.DiagramGenerationRequestDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.random.RandomGenerator;
+
+
+/**
+ * Fan-out tree: the first node is the root and every node calls up to "branching" children, filled level by level.
+ * When a depth is given the tree stops at that depth, so it may have fewer nodes than requested.
+ */
+@Component
+public class FanOutTreeTopologyGenerator implements TopologyGenerator {
+    private static final int DEFAULT_BRANCHING = 2;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TopologyModel getModel() {
+        return TopologyModel.FAN_OUT_TREE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Topology generate(DiagramGenerationRequestDTO params, RandomGenerator random) {
+        int b = params.getBranching() != null ? params.getBranching() : DEFAULT_BRANCHING;
+        int n = params.getNodes();
+
+        // nodes of a complete tree of the given depth: 1 + b + b^2 + ... + b^depth
+        if (params.getDepth() != null) {
+            long maxNodes = 0;
+            long levelSize = 1;
+            for (int level = 0; level <= params.getDepth() && maxNodes < n; level++) {
+                maxNodes += levelSize;
+                levelSize *= b;
+            }
+            n = (int) Math.min(n, maxNodes);
+        }
+
+        // in level order the parent of node i is (i - 1) / b
+        TopologyBuilder builder = new TopologyBuilder(n, n - 1);
+        for (int i = 1; i < n; i++) {
+            builder.addEdge((i - 1) / b, i);
+        }
+        return builder.build();
+    }
+}
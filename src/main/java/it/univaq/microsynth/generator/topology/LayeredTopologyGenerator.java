@@ -0,0 +1,71 @@
+package it.univaq.microsynth.generator.topology;
+
+import it.univaq.microsynth.Enum.TopologyModel;
+import it.univaq.microsynth.domain.dto.DiagramGenerationRequestDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.random.RandomGenerator;
+
+
+/**
+ * N-tier topology: nodes are split evenly in "layers" tiers and each node calls "branching" random nodes of the next tier.
+ * Every node below the first tier is called by at least one node of the previous tier, so only the first tier contains roots.
+ */
+@Component
+public class LayeredTopologyGenerator implements TopologyGenerator {
+    private static final int DEFAULT_LAYERS = 3;
+    private static final int DEFAULT_BRANCHING = 2;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TopologyModel getModel() {
+        return TopologyModel.LAYERED;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Topology generate(DiagramGenerationRequestDTO params, RandomGenerator random) throws IllegalArgumentException {
+        int n = params.getNodes();
+        int layers = params.getLayers() != null ? params.getLayers() : DEFAULT_LAYERS;
+        int b = params.getBranching() != null ? params.getBranching() : DEFAULT_BRANCHING;
+
+        if (layers > n) {
+            throw new IllegalArgumentException("Number of layers cannot be greater than number of nodes.");
+        }
+        if (params.getBranching() != null && b >= n) {
+            throw new IllegalArgumentException("Branching must be lower than number of nodes.");
+        }
+
+        // layerStart[k] = index of the first node of tier k, the remainder goes to the first tiers
+        int[] layerStart = new int[layers + 1];
+        for (int k = 0; k < layers; k++) {
+            layerStart[k + 1] = layerStart[k] + n / layers + (k < n % layers ? 1 : 0);
+        }
+
+        // one call from each node to the next tier for each branch, plus one caller for each node
+        TopologyBuilder builder = new TopologyBuilder(n, TopologyBuilder.checkEdges(Math.multiplyExact((long) n, b + 1L)));
+        for (int k = 0; k < layers - 1; k++) {
+            int from = layerStart[k];
+            int size = layerStart[k + 1] - from;
+            int nextFrom = layerStart[k + 1];
+            int nextSize = layerStart[k + 2] - nextFrom;
+
+            // each node of the next tier gets a caller
+            for (int target = nextFrom; target < nextFrom + nextSize; target++) {
+                builder.addEdge(from + random.nextInt(size), target);
+            }
+            // each node calls "branching" distinct nodes of the next tier
+            int calls = Math.min(b, nextSize);
+            for (int source = from; source < from + size; source++) {
+                for (long offset : TopologyBuilder.sampleDistinct(nextSize, calls, random)) {
+                    builder.addEdge(source, nextFrom + (int) offset);
+                }
+            }
+        }
+        return builder.build();
+    }
+}
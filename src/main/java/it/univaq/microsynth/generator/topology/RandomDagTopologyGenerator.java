@@ -0,0 +1,85 @@
+package it.univaq.microsynth.generator.topology;
+
+import it.univaq.microsynth.Enum.TopologyModel;
+import it.univaq.microsynth.domain.dto.DiagramGenerationRequestDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.random.RandomGenerator;
+
+
+/**
+ * Random directed acyclic graph with a given number of roots and edge density.
+ * An edge can only go from a node to a node with a higher index that is not a root, so the graph is acyclic and roots have no incoming edges.
+ * The density is the fraction of all the allowed edges that is created.
+ * Edges are sampled directly by index instead of materializing all the allowed edges,
+ * so time and memory grow with the number of nodes plus the number of generated edges.
+ */
+@Component
+public class RandomDagTopologyGenerator implements TopologyGenerator {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TopologyModel getModel() {
+        return TopologyModel.RANDOM_DAG;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Topology generate(DiagramGenerationRequestDTO params, RandomGenerator random) throws IllegalArgumentException {
+        int n = params.getNodes();
+        int r = params.getRoots();
+        double d = params.getDensity();
+
+        if (r > n) {
+            throw new IllegalArgumentException("Number of roots cannot be greater than number of nodes.");
+        }
+
+        // Root choice
+        boolean[] roots = new boolean[n];
+        for (long root : TopologyBuilder.sampleDistinct(n, r, random)) {
+            roots[(int) root] = true;
+        }
+
+        // Allowed targets (non root nodes) in increasing order
+        int[] targetNodes = new int[n - r];
+        for (int i = 0, t = 0; i < n; i++) {
+            if (!roots[i]) {
+                targetNodes[t++] = i;
+            }
+        }
+
+        // firstTarget[s] = position in targetNodes of the first allowed target of source s
+        // offsets[s] = index of the first allowed edge of source s, edges are numbered source by source
+        int[] firstTarget = new int[n];
+        long[] offsets = new long[n + 1];
+        for (int s = 0, t = 0; s < n; s++) {
+            while (t < targetNodes.length && targetNodes[t] <= s) {
+                t++;
+            }
+            firstTarget[s] = t;
+            offsets[s + 1] = offsets[s] + (targetNodes.length - t);
+        }
+
+        long maxConnections = offsets[n];
+        long targetConnections = TopologyBuilder.checkEdges(Math.min(Math.round(d * maxConnections), maxConnections));
+
+        long[] edges = TopologyBuilder.sampleDistinct(maxConnections, targetConnections, random);
+
+        // sorted edge indexes give edges grouped by source, with increasing targets
+        int[] sources = new int[edges.length];
+        int[] targets = new int[edges.length];
+        int source = 0;
+        for (int i = 0; i < edges.length; i++) {
+            while (offsets[source + 1] <= edges[i]) {
+                source++;
+            }
+            sources[i] = source;
+            targets[i] = targetNodes[firstTarget[source] + (int) (edges[i] - offsets[source])];
+        }
+        return new Topology(n, sources, targets);
+    }
+}
@@ -0,0 +1,36 @@
+package it.univaq.microsynth.generator.topology;
+
+import it.univaq.microsynth.Enum.TopologyModel;
+import it.univaq.microsynth.domain.dto.DiagramGenerationRequestDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.random.RandomGenerator;
+
+
+/**
+ * Star of services: the first node is a hub calling every other node.
+ */
+@Component
+public class StarTopologyGenerator implements TopologyGenerator {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TopologyModel getModel() {
+        return TopologyModel.STAR;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Topology generate(DiagramGenerationRequestDTO params, RandomGenerator random) {
+        int n = params.getNodes();
+        TopologyBuilder builder = new TopologyBuilder(n, n - 1);
+        for (int i = 1; i < n; i++) {
+            builder.addEdge(0, i);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,30 @@
+package it.univaq.microsynth.generator.topology;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+/**
+ * Shape of a synthetic diagram: the number of nodes and the directed edges between them, identified by node index.
+ * Edges are stored in two parallel arrays sorted by source index, so the outgoing edges of a node are contiguous.
+ */
+@Getter
+@AllArgsConstructor
+public class Topology {
+    // number of nodes, indexed from 0 to nodeCount - 1
+    private final int nodeCount;
+
+    // source node index of each edge
+    private final int[] sources;
+
+    // target node index of each edge
+    private final int[] targets;
+
+    /**
+     * Returns the number of edges of the topology.
+     * @return the number of edges
+     */
+    public int getEdgeCount() {
+        return sources.length;
+    }
+}
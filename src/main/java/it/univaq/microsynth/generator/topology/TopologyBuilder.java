@@ -0,0 +1,125 @@
+package it.univaq.microsynth.generator.topology;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+
+/**
+ * Collects the edges of a topology in any order and builds a {@link Topology} with the edges grouped by source.
+ * Grouping is a counting sort on the source index, so building is linear in nodes plus edges;
+ * duplicated edges are removed.
+ */
+class TopologyBuilder {
+    private final int nodeCount;
+    private int[] sources;
+    private int[] targets;
+    private int size;
+
+    TopologyBuilder(int nodeCount, int expectedEdges) {
+        this.nodeCount = nodeCount;
+        this.sources = new int[Math.max(expectedEdges, 16)];
+        this.targets = new int[sources.length];
+    }
+
+    /**
+     * Checks that the edges of a topology fit in the arrays of a {@link Topology}.
+     * @param edges - the number of edges, computed as a long so it cannot overflow
+     * @return the number of edges as an int
+     * @throws IllegalArgumentException if there are more edges than an array can hold
+     */
+    static int checkEdges(long edges) throws IllegalArgumentException {
+        if (edges > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many connections requested: " + edges);
+        }
+        return (int) edges;
+    }
+
+    /**
+     * Adds an edge from the source node to the target node.
+     */
+    TopologyBuilder addEdge(int source, int target) {
+        if (size == sources.length) {
+            sources = Arrays.copyOf(sources, size * 2);
+            targets = Arrays.copyOf(targets, size * 2);
+        }
+        sources[size] = source;
+        targets[size] = target;
+        size++;
+        return this;
+    }
+
+    /**
+     * Builds the topology with the edges grouped by source and sorted by target.
+     */
+    Topology build() {
+        // counting sort by source
+        int[] start = new int[nodeCount + 1];
+        for (int i = 0; i < size; i++) {
+            start[sources[i] + 1]++;
+        }
+        for (int s = 0; s < nodeCount; s++) {
+            start[s + 1] += start[s];
+        }
+        int[] next = Arrays.copyOf(start, nodeCount);
+        int[] sortedTargets = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedTargets[next[sources[i]]++] = targets[i];
+        }
+
+        // sort the targets of each source and drop duplicates
+        int[] outSources = new int[size];
+        int[] outTargets = new int[size];
+        int count = 0;
+        for (int s = 0; s < nodeCount; s++) {
+            Arrays.sort(sortedTargets, start[s], start[s + 1]);
+            for (int i = start[s]; i < start[s + 1]; i++) {
+                if (i > start[s] && sortedTargets[i] == sortedTargets[i - 1]) {
+                    continue;
+                }
+                outSources[count] = s;
+                outTargets[count] = sortedTargets[i];
+                count++;
+            }
+        }
+        return new Topology(nodeCount, Arrays.copyOf(outSources, count), Arrays.copyOf(outTargets, count));
+    }
+
+    /**
+     * Samples k distinct values in [0, bound) with uniform probability, returned in increasing order.
+     * Uses Floyd's algorithm, which needs memory proportional to the sample and not to the bound;
+     * when more than half of the values are requested the excluded values are sampled instead.
+     */
+    static long[] sampleDistinct(long bound, long k, RandomGenerator random) {
+        if (k > bound / 2) {
+            long[] excluded = sampleDistinct(bound, bound - k, random);
+            long[] result = new long[(int) k];
+            int e = 0;
+            int i = 0;
+            for (long value = 0; value < bound; value++) {
+                if (e < excluded.length && excluded[e] == value) {
+                    e++;
+                } else {
+                    result[i++] = value;
+                }
+            }
+            return result;
+        }
+
+        Set<Long> selected = new HashSet<>((int) Math.min(Integer.MAX_VALUE, k * 2));
+        for (long j = bound - k; j < bound; j++) {
+            long t = random.nextLong(j + 1);
+            if (!selected.add(t)) {
+                selected.add(j);
+            }
+        }
+        long[] result = new long[selected.size()];
+        int i = 0;
+        for (Long value : selected) {
+            result[i++] = value;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+}
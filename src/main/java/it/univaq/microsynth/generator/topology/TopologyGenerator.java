@@ -0,0 +1,26 @@
+package it.univaq.microsynth.generator.topology;
+
+import it.univaq.microsynth.Enum.TopologyModel;
+import it.univaq.microsynth.domain.dto.DiagramGenerationRequestDTO;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generator of the topology (nodes and edges) of a synthetic diagram.
+ */
+public interface TopologyGenerator {
+    /**
+     * Returns the topology model produced by this generator.
+     * @return the topology model
+     */
+    TopologyModel getModel();
+
+    /**
+     * Generates a topology for the given request.
+     * @param params - the diagram generation request with the topology parameters
+     * @param random - the random source used for every random choice, so equal seeds give equal topologies
+     * @return the generated topology
+     * @throws IllegalArgumentException if the parameters are not valid for this topology
+     */
+    Topology generate(DiagramGenerationRequestDTO params, RandomGenerator random) throws IllegalArgumentException;
+}
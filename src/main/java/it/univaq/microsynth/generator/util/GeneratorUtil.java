@@ -1,12 +1,18 @@
 package it.univaq.microsynth.generator.util;
 
 import java.util.Arrays;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
  * Utility class for the code generator, providing methods to get template paths, sanitize strings, and generate operationIds.
  */
 public class GeneratorUtil {
+    // Patterns compiled once, these methods are called for every node and endpoint of a diagram
+    private static final Pattern LEADING_SLASHES = Pattern.compile("^/+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^A-Za-z0-9]");
+    private static final Pattern NON_LOWER_ALPHANUMERIC_RUN = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
 
     /**
      * Returns the path to the Dockerfile template based on the given type.
@@ -43,9 +49,9 @@ public class GeneratorUtil {
      */
     public static String sanitize(String input) {
         // Rimuove slash iniziali
-        input = input.replaceAll("^/+", "");
+        input = LEADING_SLASHES.matcher(input).replaceAll("");
         // Sostituisce tutti i caratteri non alfanumerici con underscore
-        input = input.replaceAll("[^A-Za-z0-9]", "_");
+        input = NON_ALPHANUMERIC.matcher(input).replaceAll("_");
         // Aggiunge "get" se il metodo era get
         return input;
     }
@@ -57,7 +63,7 @@ public class GeneratorUtil {
      */
     public static String sanitizeDockerServiceName(String s) {
         // solo minuscole, sostituisce tutto ciò che non è alfanumerico con '-'
-        return s.toLowerCase().replaceAll("[^a-z0-9]+", "-");
+        return NON_LOWER_ALPHANUMERIC_RUN.matcher(s.toLowerCase()).replaceAll("-");
     }
 
     /**
@@ -68,11 +74,9 @@ public class GeneratorUtil {
      */
     public static String toOperationId(String path, String method) {
         // /path-3 -> path3
-        String cleanPath = path
-                .replaceAll("^/+", "")
-                .replaceAll("[^A-Za-z0-9]", " ");
+        String cleanPath = NON_ALPHANUMERIC.matcher(LEADING_SLASHES.matcher(path).replaceAll("")).replaceAll(" ");
 
-        String camelPath = Arrays.stream(cleanPath.split("\\s+"))
+        String camelPath = Arrays.stream(WHITESPACES.split(cleanPath))
                 .filter(s -> !s.isBlank())
                 .map(s -> Character.toUpperCase(s.charAt(0)) + s.substring(1))
                 .collect(Collectors.joining());
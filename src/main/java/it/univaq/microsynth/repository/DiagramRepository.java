@@ -0,0 +1,47 @@
+package it.univaq.microsynth.repository;
+
+import it.univaq.microsynth.domain.Diagram;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+
+public interface DiagramRepository extends MongoRepository<Diagram, String> {
+
+    /**
+     * Find a diagram by its ID within a project. The lookup uses the primary key, so it only reads the requested diagram.
+     *
+     * @param id        The ID of the diagram to find.
+     * @param projectId The ID of the project the diagram belongs to.
+     * @return An Optional containing the found diagram, or empty if no diagram with the given ID exists in the project.
+     */
+    Optional<Diagram> findByIdAndProjectId(String id, String projectId);
+
+    /**
+     * Find all the diagrams of a project, with their data.
+     *
+     * @param projectId The ID of the project.
+     * @return The list of the diagrams of the project.
+     */
+    List<Diagram> findAllByProjectId(String projectId);
+
+    /**
+     * Find the diagrams of a set of projects without their data, used to list projects with their diagrams.
+     *
+     * @param projectIds The IDs of the projects.
+     * @return The list of the diagrams of the projects, with only id, name and project id filled.
+     */
+    @Query(value = "{ 'projectId': { $in: ?0 } }", fields = "{ 'name': 1, 'projectId': 1 }")
+    List<Diagram> findSummariesByProjectIdIn(Collection<String> projectIds);
+
+    /**
+     * Check whether a project has at least one diagram.
+     *
+     * @param projectId The ID of the project.
+     * @return true if the project has diagrams, false otherwise.
+     */
+    boolean existsByProjectId(String projectId);
+}
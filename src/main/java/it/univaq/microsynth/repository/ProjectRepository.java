@@ -1,9 +1,9 @@
 package it.univaq.microsynth.repository;
 
 import it.univaq.microsynth.domain.Project;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.*;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.Optional;
 
@@ -27,4 +27,27 @@ public interface ProjectRepository extends MongoRepository<Project, String> {
      * @return A Page containing the projects owned by the specified user, according to the provided pagination parameters.
      */
     Page<Project> findAllByOwner(String owner, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Find the projects owned by a specific user reading only the fields shown in the project list.
+     *
+     * @param owner    The username of the owner of the projects to find.
+     * @param pageable A Pageable object containing pagination information such as page number and page size.
+     * @return A Page containing the projects owned by the specified user, with only id, name, owner and timestamps filled.
+     */
+    @Query(value = "{ 'owner': ?0 }", fields = "{ 'name': 1, 'owner': 1, 'createdAt': 1, 'updatedAt': 1 }")
+    Page<Project> findSummariesByOwner(String owner, Pageable pageable);
+
+    /**
+     * Find the projects owned by a specific user after a keyset position, reading only the fields shown in the project list.
+     * The cost of a window does not depend on its position, unlike offset pagination.
+     *
+     * @param owner    The username of the owner of the projects to find.
+     * @param position The position of the last project of the previous window, or the initial position.
+     * @param limit    The maximum number of projects to return.
+     * @param sort     The sort of the projects, it must end with the id to make the order unique.
+     * @return A Window containing the projects owned by the specified user, with only id, name, owner and timestamps filled.
+     */
+    @Query(value = "{ 'owner': ?0 }", fields = "{ 'name': 1, 'owner': 1, 'createdAt': 1, 'updatedAt': 1 }")
+    Window<Project> findSummariesByOwner(String owner, ScrollPosition position, Limit limit, Sort sort);
+}
@@ -2,6 +2,10 @@ package it.univaq.microsynth.repository;
 
 import it.univaq.microsynth.domain.Role;
 import it.univaq.microsynth.domain.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
@@ -22,4 +26,14 @@ public interface UserRepository extends MongoRepository<User, String> {
      * @return An Optional containing the found user, or empty if no user with the given id exists.
      */
     List<Role> getRolesById(String id);
-}
\ No newline at end of file
+
+    /**
+     * Find the users after a keyset position. The cost of a window does not depend on its position, unlike offset pagination.
+     *
+     * @param position The position of the last user of the previous window, or the initial position.
+     * @param limit    The maximum number of users to return.
+     * @param sort     The sort of the users, it must end with the id to make the order unique.
+     * @return A Window containing the users after the given position.
+     */
+    Window<User> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+}
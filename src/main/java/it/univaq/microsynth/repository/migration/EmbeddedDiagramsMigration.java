@@ -0,0 +1,86 @@
+package it.univaq.microsynth.repository.migration;
+
+import com.mongodb.client.model.ReplaceOptions;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * Moves the diagrams embedded in the project documents (previous storage layout) to the "diagrams" collection.
+ * Each diagram is upserted by id before being removed from its project, so the migration can be safely re-run after a failure.
+ * Diagrams without a version (stored before optimistic locking) get version 0.
+ * The migration runs while the application context is created, before the web server accepts requests,
+ * so no request reads or writes the "diagrams" collection while diagrams are still embedded.
+ */
+@Slf4j
+@Component
+public class EmbeddedDiagramsMigration {
+    private static final String PROJECTS_COLLECTION = "projects";
+    private static final String DIAGRAMS_COLLECTION = "diagrams";
+
+    private final MongoTemplate mongoTemplate;
+
+    public EmbeddedDiagramsMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Migrates the embedded diagrams at startup, before the web server is started.
+     */
+    @PostConstruct
+    public void migrate() {
+        Query withEmbeddedDiagrams = Query.query(Criteria.where("diagrams").exists(true));
+        int projects = 0;
+        int diagrams = 0;
+
+        for (Document project : mongoTemplate.find(withEmbeddedDiagrams, Document.class, PROJECTS_COLLECTION)) {
+            Object projectId = project.get("_id");
+            List<Document> embedded = project.getList("diagrams", Document.class, List.of());
+
+            for (Document diagram : embedded) {
+                Object diagramId = diagram.containsKey("_id") ? diagram.get("_id") : diagram.get("id");
+                Document migrated = new Document(diagram);
+                migrated.remove("id");
+                migrated.put("_id", diagramId != null ? diagramId.toString() : UUID.randomUUID().toString());
+                migrated.put("projectId", projectId.toString());
+                migrated.put("version", 0L);
+                mongoTemplate.getCollection(DIAGRAMS_COLLECTION).replaceOne(
+                        new Document("_id", migrated.get("_id")),
+                        migrated,
+                        new ReplaceOptions().upsert(true)
+                );
+                diagrams++;
+            }
+
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(projectId)),
+                    new Update().unset("diagrams"),
+                    PROJECTS_COLLECTION
+            );
+            projects++;
+        }
+
+        // diagrams saved before optimistic locking have no version, a null version would make Spring Data insert them again
+        long unversioned = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L),
+                DIAGRAMS_COLLECTION
+        ).getModifiedCount();
+        if (unversioned > 0) {
+            log.info("[MIGRATION] Initialized the version of {} diagrams", unversioned);
+        }
+
+        if (projects > 0) {
+            log.info("[MIGRATION] Moved {} embedded diagrams of {} projects to the {} collection", diagrams, projects, DIAGRAMS_COLLECTION);
+        }
+    }
+}
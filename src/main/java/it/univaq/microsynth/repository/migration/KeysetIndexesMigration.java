@@ -0,0 +1,51 @@
+package it.univaq.microsynth.repository.migration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Drops the date indexes of the project and user lists created when the keyset sort used the id ascending in both directions.
+ * The lists now sort the id in the direction of the date and use the indexes declared on {@code Project} and {@code User},
+ * so the old ones would only slow down the writes.
+ */
+@Slf4j
+@Component
+public class KeysetIndexesMigration {
+    // collection -> names of the replaced indexes
+    private static final Map<String, List<String>> OBSOLETE_INDEXES = Map.of(
+            "projects", List.of("owner_createdAt", "owner_updatedAt"),
+            "users", List.of("createdAt_id", "updatedAt_id")
+    );
+
+    private final MongoTemplate mongoTemplate;
+
+    public KeysetIndexesMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Drops the obsolete indexes at startup, the indexes already dropped are skipped.
+     */
+    @PostConstruct
+    public void migrate() {
+        OBSOLETE_INDEXES.forEach((collection, names) -> {
+            IndexOperations indexOps = mongoTemplate.indexOps(collection);
+            Set<String> existing = Set.copyOf(indexOps.getIndexInfo().stream().map(IndexInfo::getName).toList());
+            for (String name : names) {
+                if (existing.contains(name)) {
+                    indexOps.dropIndex(name);
+                    log.info("[MIGRATION] Dropped obsolete index {} of collection {}", name, collection);
+                }
+            }
+        });
+    }
+}
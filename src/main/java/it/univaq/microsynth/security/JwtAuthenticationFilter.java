@@ -4,7 +4,6 @@ import it.univaq.microsynth.service.JwtService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import jakarta.servlet.FilterChain;
@@ -13,8 +12,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -40,16 +37,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = extractTokenFromRequest(request);
 
-        if (token != null && jwtService.validateToken(token)) {
-            String username = jwtService.extractUsername(token);
-            List<String> roles = jwtService.extractRoles(token);
-
-            var authorities = roles.stream()
-                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                    .collect(Collectors.toList());
-
+        // a single verification per request, repeated requests with the same token hit the verified tokens cache
+        VerifiedToken verified = token != null ? jwtService.verifyToken(token) : null;
+        if (verified != null) {
             UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(username, null, authorities);
+                    new UsernamePasswordAuthenticationToken(verified.getUsername(), null, verified.getAuthorities());
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
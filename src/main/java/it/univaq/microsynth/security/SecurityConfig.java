@@ -40,9 +40,12 @@ public class SecurityConfig {
                                 "/api/auth/change-password",
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
-                                "/swagger-ui.html"
+                                "/swagger-ui.html",
+                                "/actuator/health"
                         ).permitAll()
-                        .requestMatchers("/api/account/all").hasRole("ADMIN")
+                        .requestMatchers("/api/account/all", "/api/account/all/cursor").hasRole("ADMIN")
+                        // internal metrics (bundle sizes, jobs, temp disk, cache, JVM), scraped with the token of an admin
+                        .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
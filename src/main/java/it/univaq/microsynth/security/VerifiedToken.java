@@ -0,0 +1,33 @@
+package it.univaq.microsynth.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Principal and authorities of a JWT token whose signature has been verified, valid until the token expiration
+ */
+@Getter
+public class VerifiedToken {
+    private final String username;
+    private final List<GrantedAuthority> authorities;
+    private final Instant expiresAt;
+
+    public VerifiedToken(String username, List<GrantedAuthority> authorities, Instant expiresAt) {
+        this.username = username;
+        this.authorities = List.copyOf(authorities);
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Checks whether the token is expired at the given instant.
+     *
+     * @param now The instant to check.
+     * @return true if the token is expired, false otherwise.
+     */
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
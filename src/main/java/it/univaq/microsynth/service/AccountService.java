@@ -2,6 +2,8 @@ package it.univaq.microsynth.service;
 
 
 import it.univaq.microsynth.domain.Role;
+import it.univaq.microsynth.domain.dto.CursorPageDTO;
+import it.univaq.microsynth.domain.dto.CursorRequestDTO;
 import it.univaq.microsynth.domain.dto.PaginatedRequestDTO;
 import it.univaq.microsynth.domain.dto.UserResponseDTO;
 import org.springframework.data.domain.Page;
@@ -19,6 +21,16 @@ public interface AccountService {
      */
     ResponseEntity<Page<UserResponseDTO>> getAllUsers(PaginatedRequestDTO paginatedRequestDTO);
 
+    /**
+     * Retrieves a cursor paginated list of all users in the system.
+     * Each page costs the same regardless of how many users come before it.
+     *
+     * @param cursorRequestDTO An object containing the cursor of the previous page, the page size and the sort.
+     *                         Users can be sorted by id, username, email, createdAt or updatedAt, other fields are rejected with an IllegalArgumentException.
+     * @return A ResponseEntity containing a page of UserResponseDTO objects and the cursor of the next page.
+     */
+    ResponseEntity<CursorPageDTO<UserResponseDTO>> getAllUsers(CursorRequestDTO cursorRequestDTO);
+
     /**
      * Retrieves the roles associated with a specific user by their unique identifier.
      *
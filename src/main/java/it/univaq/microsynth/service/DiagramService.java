@@ -0,0 +1,85 @@
+package it.univaq.microsynth.service;
+
+import it.univaq.microsynth.domain.Connection;
+import it.univaq.microsynth.domain.Node;
+import it.univaq.microsynth.domain.dto.ConnectionPatchDTO;
+import it.univaq.microsynth.domain.dto.DiagramVersionDTO;
+import it.univaq.microsynth.domain.dto.NodePatchDTO;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Partial updates of a diagram, each one is a single atomic update of the diagram document guarded by its version.
+ * All the methods return:
+ *  - HTTP 200 OK with the new version of the diagram if the update is applied.
+ *  - HTTP 404 Not Found if the diagram (or the node/connection to change) does not exist in the project.
+ *  - HTTP 409 Conflict if the diagram version differs from the expected one, or the node/connection to add already exists.
+ */
+public interface DiagramService {
+    /**
+     * Adds a node to a diagram.
+     *
+     * @param projectId The ID of the project containing the diagram.
+     * @param diagramId The ID of the diagram.
+     * @param version   The version of the diagram the change is based on.
+     * @param node      The node to add.
+     * @return A ResponseEntity containing the new version of the diagram.
+     */
+    ResponseEntity<DiagramVersionDTO> addNode(String projectId, String diagramId, long version, Node node);
+
+    /**
+     * Changes the non null fields of a node of a diagram.
+     *
+     * @param projectId The ID of the project containing the diagram.
+     * @param diagramId The ID of the diagram.
+     * @param version   The version of the diagram the change is based on.
+     * @param nodeId    The ID of the node to change.
+     * @param patch     The fields to change.
+     * @return A ResponseEntity containing the new version of the diagram.
+     */
+    ResponseEntity<DiagramVersionDTO> patchNode(String projectId, String diagramId, long version, String nodeId, NodePatchDTO patch);
+
+    /**
+     * Removes a node, and the connections from or to it, from a diagram.
+     *
+     * @param projectId The ID of the project containing the diagram.
+     * @param diagramId The ID of the diagram.
+     * @param version   The version of the diagram the change is based on.
+     * @param nodeId    The ID of the node to remove.
+     * @return A ResponseEntity containing the new version of the diagram.
+     */
+    ResponseEntity<DiagramVersionDTO> removeNode(String projectId, String diagramId, long version, String nodeId);
+
+    /**
+     * Adds a connection to a diagram, its source and target must be nodes of the diagram.
+     *
+     * @param projectId  The ID of the project containing the diagram.
+     * @param diagramId  The ID of the diagram.
+     * @param version    The version of the diagram the change is based on.
+     * @param connection The connection to add.
+     * @return A ResponseEntity containing the new version of the diagram.
+     */
+    ResponseEntity<DiagramVersionDTO> addConnection(String projectId, String diagramId, long version, Connection connection);
+
+    /**
+     * Changes the non null fields of a connection of a diagram, a new source or target must be a node of the diagram.
+     *
+     * @param projectId    The ID of the project containing the diagram.
+     * @param diagramId    The ID of the diagram.
+     * @param version      The version of the diagram the change is based on.
+     * @param connectionId The ID of the connection to change.
+     * @param patch        The fields to change.
+     * @return A ResponseEntity containing the new version of the diagram.
+     */
+    ResponseEntity<DiagramVersionDTO> patchConnection(String projectId, String diagramId, long version, String connectionId, ConnectionPatchDTO patch);
+
+    /**
+     * Removes a connection from a diagram.
+     *
+     * @param projectId    The ID of the project containing the diagram.
+     * @param diagramId    The ID of the diagram.
+     * @param version      The version of the diagram the change is based on.
+     * @param connectionId The ID of the connection to remove.
+     * @return A ResponseEntity containing the new version of the diagram.
+     */
+    ResponseEntity<DiagramVersionDTO> removeConnection(String projectId, String diagramId, long version, String connectionId);
+}
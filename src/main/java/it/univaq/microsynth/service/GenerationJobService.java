@@ -0,0 +1,41 @@
+package it.univaq.microsynth.service;
+
+import it.univaq.microsynth.domain.dto.GenerationJobDTO;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ResponseEntity;
+
+public interface GenerationJobService {
+    /**
+     * Submits the asynchronous generation of the bundle of a diagram.
+     *
+     * @param projectId The ID of the project containing the diagram.
+     * @param diagramId The ID of the diagram to be used for code generation.
+     * @param userName  The name of the user submitting the job.
+     * @return A ResponseEntity containing the state of the created job.
+     *         - Returns HTTP 202 Accepted with the queued job.
+     *         - Returns HTTP 404 Not Found if the specified diagram is not found for the given project.
+     *         - Returns HTTP 429 Too Many Requests if the user or the server reached the limit of running jobs.
+     */
+    ResponseEntity<GenerationJobDTO> submit(String projectId, String diagramId, String userName);
+
+    /**
+     * Returns the state of a generation job, including the progress of each service.
+     *
+     * @param jobId    The ID of the job.
+     * @param userName The name of the user that submitted the job.
+     * @return A ResponseEntity containing the state of the job, or HTTP 404 Not Found if the job does not exist, belongs to another user or expired.
+     */
+    ResponseEntity<GenerationJobDTO> getJob(String jobId, String userName);
+
+    /**
+     * Returns the bundle generated by a completed job.
+     *
+     * @param jobId    The ID of the job.
+     * @param userName The name of the user that submitted the job.
+     * @return A ResponseEntity containing the generated zip file.
+     *         - Returns HTTP 200 OK with the zip file if the job is done.
+     *         - Returns HTTP 404 Not Found if the job does not exist, belongs to another user or expired.
+     *         - Returns HTTP 409 Conflict if the job is still running or failed.
+     */
+    ResponseEntity<FileSystemResource> download(String jobId, String userName);
+}
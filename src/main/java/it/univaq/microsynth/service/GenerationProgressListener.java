@@ -0,0 +1,23 @@
+package it.univaq.microsynth.service;
+
+import it.univaq.microsynth.Enum.GenerationStatus;
+
+/**
+ * Receives the progress of the services of a bundle while it is generated.
+ * Notifications come from the generation workers, so implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface GenerationProgressListener {
+    /**
+     * Listener ignoring every notification.
+     */
+    GenerationProgressListener NONE = (serviceName, status) -> { };
+
+    /**
+     * Called when a service of the bundle changes status.
+     *
+     * @param serviceName The sanitized name of the service, as used for its directory in the bundle.
+     * @param status      The new status of the service.
+     */
+    void onServiceStatus(String serviceName, GenerationStatus status);
+}
@@ -4,6 +4,7 @@ import it.univaq.microsynth.domain.dto.BundleGenerationRequestDTO;
 import it.univaq.microsynth.domain.dto.DiagramDTO;
 
 import java.io.File;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface GeneratorService {
@@ -16,11 +17,32 @@ public interface GeneratorService {
      */
     File generateBundle(List<BundleGenerationRequestDTO> requests) throws Exception;
 
+    /**
+     * Generates a zip file containing the generated code, notifying the progress of each service to the provided listener.
+     *
+     * @param requests A list of BundleGenerationRequestDTO containing the information needed for code generation.
+     * @param listener The listener receiving the status changes of the services of the bundle.
+     * @return A File object representing the generated zip file.
+     * @throws Exception If an error occurs during the generation process.
+     */
+    File generateBundle(List<BundleGenerationRequestDTO> requests, GenerationProgressListener listener) throws Exception;
+
+    /**
+     * Generates the bundle and writes it as a zip archive directly to the provided stream.
+     * Each service is added to the archive as soon as its generation completes, so no intermediate zip file is created.
+     *
+     * @param requests     A list of BundleGenerationRequestDTO containing the information needed for code generation.
+     * @param outputStream The stream where the zip archive is written, it is not closed by this method.
+     * @throws Exception If an error occurs during the generation process.
+     */
+    void streamBundle(List<BundleGenerationRequestDTO> requests, OutputStream outputStream) throws Exception;
+
     /**
      * Converts a DiagramDTO into a list of BundleGenerationRequestDTO, which can be used for code generation.
      *
      * @param graph The DiagramDTO representing the graph to be converted.
      * @return A list of BundleGenerationRequestDTO derived from the provided DiagramDTO.
+     * @throws IllegalArgumentException If two nodes have the same service name or an endpoint is not valid.
      */
     List<BundleGenerationRequestDTO> convertGraphToRequests(DiagramDTO graph);
 }
@@ -3,15 +3,21 @@ package it.univaq.microsynth.service;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import it.univaq.microsynth.domain.User;
+import it.univaq.microsynth.security.VerifiedToken;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
-import java.util.Base64;
-import java.util.Date;
-import java.util.List;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.*;
 import java.util.function.Function;
 
 @Slf4j
@@ -24,8 +30,23 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    // Maximum number of verified tokens kept in memory, the oldest one is evicted when a new token is cached
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
     private Key secretKey;
 
+    // Parser built once, it is immutable and thread-safe
+    private JwtParser jwtParser;
+
+    // Verified tokens by SHA-256 of the token in insertion order, so the eldest entry is also the first to expire
+    private final Map<String, VerifiedToken> verifiedTokens = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+            return size() > cacheMaxSize;
+        }
+    });
+
     @PostConstruct
     public void init() {
         byte[] decodedKey = Base64.getDecoder().decode(secret);
@@ -33,6 +54,7 @@ public class JwtService {
             throw new IllegalArgumentException("The secret key must be at least 256 bits long.");
         }
         this.secretKey = Keys.hmacShaKeyFor(decodedKey);
+        this.jwtParser = Jwts.parser().setSigningKey(secretKey).build();
     }
 
     /**
@@ -52,6 +74,55 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Verifies the provided JWT token and returns its principal and authorities, parsing the token only the first time it is seen.
+     * Verified tokens are cached until their expiration, so the signature is not checked again on the following requests.
+     * When the cache is full the oldest token is evicted, so a miss never scans the cache.
+     *
+     * @param token The JWT token to be verified.
+     * @return The verified token, or null if the token is invalid or expired.
+     */
+    public VerifiedToken verifyToken(String token) {
+        Instant now = Instant.now();
+        String key = hash(token);
+        VerifiedToken verified = verifiedTokens.get(key);
+        if (verified != null) {
+            if (!verified.isExpired(now)) {
+                return verified;
+            }
+            verifiedTokens.remove(key);
+            return null;
+        }
+
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (JwtException e) {
+            log.warn("Invalid JWT: {}", e.getMessage());
+            return null;
+        }
+        if (claims.getExpiration() == null) {
+            // tokens without expiration are accepted but never cached
+            return toVerifiedToken(claims, Instant.MAX);
+        }
+        verified = toVerifiedToken(claims, claims.getExpiration().toInstant());
+        if (cacheMaxSize > 0) {
+            verifiedTokens.put(key, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Removes the expired tokens from the verified tokens cache.
+     */
+    @Scheduled(fixedDelayString = "${jwt.cache.cleanup-interval-ms:60000}")
+    public void removeExpiredTokens() {
+        Instant now = Instant.now();
+        synchronized (verifiedTokens) {
+            verifiedTokens.values().removeIf(verified -> verified.isExpired(now));
+        }
+    }
+
     /**
      * Validates the provided JWT token by checking its signature and expiration.
      *
@@ -121,7 +192,38 @@ public class JwtService {
      * @throws JwtException If the token is invalid or cannot be parsed.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser().setSigningKey(secretKey).build().parseClaimsJws(token).getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Builds the verified token from the claims of a parsed token, mapping each role to a "ROLE_" authority.
+     *
+     * @param claims    The claims of the token.
+     * @param expiresAt The expiration of the token.
+     * @return The verified token.
+     */
+    private VerifiedToken toVerifiedToken(Claims claims, Instant expiresAt) {
+        List<?> roles = claims.get("roles", List.class);
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (roles != null) {
+            roles.forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_" + role)));
+        }
+        return new VerifiedToken(claims.getSubject(), authorities, expiresAt);
+    }
+
+    /**
+     * Hashes a token to the key of the verified tokens cache, so the tokens themselves are not kept in memory.
+     *
+     * @param token The JWT token.
+     * @return The Base64 encoded SHA-256 of the token.
+     */
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
 }
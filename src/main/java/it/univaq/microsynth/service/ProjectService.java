@@ -2,7 +2,6 @@ package it.univaq.microsynth.service;
 
 
 import it.univaq.microsynth.domain.Diagram;
-import it.univaq.microsynth.domain.Project;
 import it.univaq.microsynth.domain.dto.*;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
@@ -14,9 +13,21 @@ public interface ProjectService {
      *
      * @param userName            The username of the user whose projects are to be retrieved.
      * @param paginatedRequestDTO An object containing pagination parameters such as page number and page size.
-     * @return A ResponseEntity containing a Page of Project objects, which includes the list of projects and pagination metadata.
+     *                            Projects can be sorted by id, name, createdAt or updatedAt, other fields are rejected with an IllegalArgumentException.
+     * @return A ResponseEntity containing a Page of project summaries (with diagram names and count but not the diagram data), which includes the list of projects and pagination metadata.
      */
-    ResponseEntity<Page<Project>> getUserProjects(String userName, PaginatedRequestDTO paginatedRequestDTO);
+    ResponseEntity<Page<ProjectSummaryDTO>> getUserProjects(String userName, PaginatedRequestDTO paginatedRequestDTO);
+
+    /**
+     * Retrieves a cursor paginated list of projects associated with a specific user.
+     * Each page costs the same regardless of how many projects come before it.
+     *
+     * @param userName         The username of the user whose projects are to be retrieved.
+     * @param cursorRequestDTO An object containing the cursor of the previous page, the page size and the sort.
+     *                         Projects can be sorted by id, name, createdAt or updatedAt, other fields are rejected with an IllegalArgumentException.
+     * @return A ResponseEntity containing a page of project summaries and the cursor of the next page.
+     */
+    ResponseEntity<CursorPageDTO<ProjectSummaryDTO>> getUserProjects(String userName, CursorRequestDTO cursorRequestDTO);
 
     /**
      * Retrieves a specific project by its ID and the associated username.
@@ -50,9 +61,10 @@ public interface ProjectService {
      *
      * @param id         The unique identifier of the diagram to be updated.
      * @param diagramDTO An object containing the updated information for the diagram.
-     * @return A ResponseEntity containing a DocumentResponseDTO object if the update is successful, or an appropriate error response if the diagram is not found or if access is denied.
+     * @return A ResponseEntity containing the id and the new version of the diagram if the update is successful, or an appropriate error response if the diagram is not found or if access is denied.
+     *         HTTP 409 Conflict is returned if the diagram was modified after the version sent in the DiagramDTO.
      */
-    ResponseEntity<DocumentResponseDTO> updateDiagram(String id, DiagramDTO diagramDTO);
+    ResponseEntity<DiagramVersionDTO> updateDiagram(String id, DiagramDTO diagramDTO);
 
     /**
      * Creates a new project based on the information provided in a ProjectDTO object and associates it with a specific user.
@@ -1,15 +1,17 @@
 package it.univaq.microsynth.service.impl;
 
 import it.univaq.microsynth.domain.Role;
+import it.univaq.microsynth.domain.User;
+import it.univaq.microsynth.domain.dto.CursorPageDTO;
+import it.univaq.microsynth.domain.dto.CursorRequestDTO;
 import it.univaq.microsynth.domain.dto.PaginatedRequestDTO;
 import it.univaq.microsynth.domain.dto.UserResponseDTO;
 import it.univaq.microsynth.domain.mapper.UserMapper;
 import it.univaq.microsynth.repository.UserRepository;
 import it.univaq.microsynth.service.AccountService;
+import it.univaq.microsynth.util.CursorUtils;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.*;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +22,10 @@ import java.util.Set;
 @Slf4j
 @Service
 public class AccountServiceImpl implements AccountService {
+
+    // Fields the cursor paginated user list can be sorted by, each one backed by a (field, id) index
+    private static final Set<String> USER_SORT_FIELDS = Set.of("id", "username", "email", "createdAt", "updatedAt");
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
 
@@ -40,6 +46,17 @@ public class AccountServiceImpl implements AccountService {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<CursorPageDTO<UserResponseDTO>> getAllUsers(CursorRequestDTO cursorRequestDTO) {
+        Sort sort = CursorUtils.keysetSort(cursorRequestDTO.getSortBy(), cursorRequestDTO.getSortDir(), USER_SORT_FIELDS);
+        KeysetScrollPosition position = CursorUtils.decode(cursorRequestDTO.getCursor(), sort);
+        Window<User> users = userRepository.findAllBy(position, Limit.of(cursorRequestDTO.getSize()), sort);
+        return ResponseEntity.ok(CursorUtils.toPage(users, sort, userMapper::userToResponseDto));
+    }
+
     /**
      * {@inheritDoc}
      */
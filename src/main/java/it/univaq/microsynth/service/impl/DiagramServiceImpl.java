@@ -0,0 +1,202 @@
+package it.univaq.microsynth.service.impl;
+
+import it.univaq.microsynth.domain.Connection;
+import it.univaq.microsynth.domain.Diagram;
+import it.univaq.microsynth.domain.Node;
+import it.univaq.microsynth.domain.dto.ConnectionPatchDTO;
+import it.univaq.microsynth.domain.dto.DiagramVersionDTO;
+import it.univaq.microsynth.domain.dto.NodePatchDTO;
+import it.univaq.microsynth.service.DiagramService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+@Slf4j
+@Service
+public class DiagramServiceImpl implements DiagramService {
+
+    private final MongoTemplate mongoTemplate;
+
+    public DiagramServiceImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<DiagramVersionDTO> addNode(String projectId, String diagramId, long version, Node node) {
+        return apply(projectId, diagramId, version,
+                new Update().push("data.nodes", node),
+                new ElementCheck(Criteria.where("data.nodes.id").ne(node.getId()), HttpStatus.CONFLICT));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<DiagramVersionDTO> patchNode(String projectId, String diagramId, long version, String nodeId, NodePatchDTO patch) {
+        Update update = new Update();
+        setIfPresent(update, "data.nodes.$.label", patch.getLabel());
+        setIfPresent(update, "data.nodes.$.shape", patch.getShape());
+        setIfPresent(update, "data.nodes.$.position", patch.getPosition());
+        setIfPresent(update, "data.nodes.$.payload", patch.getPayload());
+        setIfPresent(update, "data.nodes.$.weight", patch.getWeight());
+        if (update.getUpdateObject().isEmpty()) {
+            throw new IllegalArgumentException("No node fields to update");
+        }
+        return apply(projectId, diagramId, version,
+                update,
+                new ElementCheck(Criteria.where("data.nodes.id").is(nodeId), HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<DiagramVersionDTO> removeNode(String projectId, String diagramId, long version, String nodeId) {
+        Criteria nodeConnections = new Criteria().orOperator(
+                Criteria.where("source").is(nodeId),
+                Criteria.where("target").is(nodeId)
+        );
+        return apply(projectId, diagramId, version,
+                new Update()
+                        .pull("data.nodes", Query.query(Criteria.where("id").is(nodeId)))
+                        .pull("data.connections", Query.query(nodeConnections)),
+                new ElementCheck(Criteria.where("data.nodes.id").is(nodeId), HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<DiagramVersionDTO> addConnection(String projectId, String diagramId, long version, Connection connection) {
+        if (connection.getSource() == null || connection.getTarget() == null) {
+            throw new IllegalArgumentException("Connection source and target are required");
+        }
+        return apply(projectId, diagramId, version,
+                new Update().push("data.connections", connection),
+                new ElementCheck(Criteria.where("data.connections.id").ne(connection.getId()), HttpStatus.CONFLICT),
+                nodeExists(connection.getSource()),
+                nodeExists(connection.getTarget()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<DiagramVersionDTO> patchConnection(String projectId, String diagramId, long version, String connectionId, ConnectionPatchDTO patch) {
+        // the query also matches the nodes array, so the connection is selected by an array filter instead of the positional operator
+        Update update = new Update();
+        setIfPresent(update, "data.connections.$[c].source", patch.getSource());
+        setIfPresent(update, "data.connections.$[c].target", patch.getTarget());
+        setIfPresent(update, "data.connections.$[c].label", patch.getLabel());
+        setIfPresent(update, "data.connections.$[c].weight", patch.getWeight());
+        setIfPresent(update, "data.connections.$[c].payload", patch.getPayload());
+        if (update.getUpdateObject().isEmpty()) {
+            throw new IllegalArgumentException("No connection fields to update");
+        }
+        update.filterArray(Criteria.where("c.id").is(connectionId));
+
+        List<ElementCheck> checks = new ArrayList<>();
+        checks.add(new ElementCheck(Criteria.where("data.connections.id").is(connectionId), HttpStatus.NOT_FOUND));
+        if (patch.getSource() != null) {
+            checks.add(nodeExists(patch.getSource()));
+        }
+        if (patch.getTarget() != null) {
+            checks.add(nodeExists(patch.getTarget()));
+        }
+        return apply(projectId, diagramId, version, update, checks.toArray(ElementCheck[]::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<DiagramVersionDTO> removeConnection(String projectId, String diagramId, long version, String connectionId) {
+        return apply(projectId, diagramId, version,
+                new Update().pull("data.connections", Query.query(Criteria.where("id").is(connectionId))),
+                new ElementCheck(Criteria.where("data.connections.id").is(connectionId), HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Applies an update to a diagram if it still has the expected version, incrementing the version in the same atomic operation.
+     * Only the new version is read back, so the cost does not depend on the size of the diagram.
+     * @param projectId - the project of the diagram
+     * @param diagramId - the diagram to update
+     * @param version - the expected version of the diagram
+     * @param update - the update to apply
+     * @param checks - the conditions on the nodes and connections the update refers to
+     * @return the response with the new version, or the error status
+     */
+    private ResponseEntity<DiagramVersionDTO> apply(String projectId, String diagramId, long version, Update update, ElementCheck... checks) {
+        // several checks can refer to the same array field, so they are combined with $and
+        Query query = Query.query(versionCriteria(projectId, diagramId, version))
+                .addCriteria(checks.length == 1
+                        ? checks[0].criteria()
+                        : new Criteria().andOperator(Arrays.stream(checks).map(ElementCheck::criteria).toList()));
+        query.fields().include("version");
+        update.inc("version", 1).set("updatedAt", LocalDateTime.now());
+
+        Diagram updated = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Diagram.class);
+        if (updated != null) {
+            return ResponseEntity.ok(new DiagramVersionDTO(diagramId, updated.getVersion()));
+        }
+
+        // find out why the update did not match
+        if (!mongoTemplate.exists(Query.query(diagramCriteria(projectId, diagramId)), Diagram.class)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!mongoTemplate.exists(Query.query(versionCriteria(projectId, diagramId, version)), Diagram.class)) {
+            log.warn("Diagram {} of project {} modified concurrently, expected version {}", diagramId, projectId, version);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        for (ElementCheck check : checks) {
+            Query checkQuery = Query.query(new Criteria().andOperator(versionCriteria(projectId, diagramId, version), check.criteria()));
+            if (!mongoTemplate.exists(checkQuery, Diagram.class)) {
+                return ResponseEntity.status(check.failureStatus()).build();
+            }
+        }
+        // the diagram changed between the update and the checks
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    private static Criteria diagramCriteria(String projectId, String diagramId) {
+        return Criteria.where("id").is(diagramId).and("projectId").is(projectId);
+    }
+
+    private static Criteria versionCriteria(String projectId, String diagramId, long version) {
+        return diagramCriteria(projectId, diagramId).and("version").is(version);
+    }
+
+    /**
+     * Condition on a node referenced by a connection, a connection to a node that is not in the diagram is not found.
+     */
+    private static ElementCheck nodeExists(String nodeId) {
+        return new ElementCheck(Criteria.where("data.nodes.id").is(nodeId), HttpStatus.NOT_FOUND);
+    }
+
+    private static void setIfPresent(Update update, String key, Object value) {
+        if (value != null) {
+            update.set(key, value);
+        }
+    }
+
+    /**
+     * Condition on a node or connection an update refers to, with the status returned when the diagram does not satisfy it.
+     */
+    private record ElementCheck(Criteria criteria, HttpStatus failureStatus) {
+    }
+}
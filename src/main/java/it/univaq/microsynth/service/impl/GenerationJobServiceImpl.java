@@ -0,0 +1,342 @@
+package it.univaq.microsynth.service.impl;
+
+import it.univaq.microsynth.Enum.GenerationStatus;
+import it.univaq.microsynth.domain.dto.BundleGenerationRequestDTO;
+import it.univaq.microsynth.domain.dto.DiagramDTO;
+import it.univaq.microsynth.domain.dto.GenerationJobDTO;
+import it.univaq.microsynth.generator.util.GeneratorUtil;
+import it.univaq.microsynth.service.GenerationJobService;
+import it.univaq.microsynth.service.GeneratorService;
+import it.univaq.microsynth.service.ProjectService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+@Slf4j
+@Service
+public class GenerationJobServiceImpl implements GenerationJobService {
+
+    // Number of bundles generated at the same time, each bundle still uses the generator worker pool for its services
+    @Value("${generator.jobs.max-running:2}")
+    private int maxRunning;
+
+    // Number of jobs waiting for a free slot, further submissions are rejected
+    @Value("${generator.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    // Number of queued or running jobs allowed for a single user
+    @Value("${generator.jobs.max-per-user:2}")
+    private int maxPerUser;
+
+    // Minutes a completed job (and its zip file) stays available
+    @Value("${generator.jobs.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    // Minutes an expired job is still kept after its last download request, so the download can open the zip file
+    @Value("${generator.jobs.download-grace-minutes:5}")
+    private long downloadGraceMinutes;
+
+    private final GeneratorService generatorService;
+    private final ProjectService projectService;
+
+    // Jobs by id, completed jobs are removed when they expire
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+
+    // Executor running the bundle generations, bounded both in threads and queue
+    private ThreadPoolExecutor jobExecutor;
+
+    public GenerationJobServiceImpl(GeneratorService generatorService, ProjectService projectService) {
+        this.generatorService = generatorService;
+        this.projectService = projectService;
+    }
+
+    /**
+     * Creates the executor running the generation jobs.
+     */
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.jobExecutor = new ThreadPoolExecutor(
+                maxRunning, maxRunning, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "generation-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("[JOB] Generation jobs executor initialized with {} running and {} queued jobs", maxRunning, queueCapacity);
+    }
+
+    /**
+     * Stops the running jobs and removes the generated zip files when the application context is closed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        jobs.values().forEach(GenerationJob::deleteResult);
+        jobs.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<GenerationJobDTO> submit(String projectId, String diagramId, String userName) {
+        ResponseEntity<DiagramDTO> diagramResponse = projectService.getDiagramById(projectId, diagramId);
+        if (diagramResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
+            log.error("[JOB] Diagram not found for project {} and {}", projectId, diagramId);
+            return ResponseEntity.notFound().build();
+        }
+        List<BundleGenerationRequestDTO> requests = generatorService.convertGraphToRequests(diagramResponse.getBody());
+
+        GenerationJob job = new GenerationJob(UUID.randomUUID().toString(), projectId, diagramId, userName);
+        requests.forEach(r -> job.updateService(GeneratorUtil.sanitizeDockerServiceName(r.getProjectName()), GenerationStatus.QUEUED));
+
+        // the per-user check and the registration are atomic
+        synchronized (jobs) {
+            if (countActiveJobs(userName) >= maxPerUser) {
+                log.warn("[JOB] User {} reached the limit of {} generation jobs", userName, maxPerUser);
+                return tooManyRequests();
+            }
+            jobs.put(job.id, job);
+        }
+
+        try {
+            job.future = jobExecutor.submit(() -> run(job, requests));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            log.warn("[JOB] Generation queue full, job for project {} rejected", projectId);
+            return tooManyRequests();
+        }
+
+        log.info("[JOB] Job {} submitted by {} for project {} and diagram {}", job.id, userName, projectId, diagramId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job.toDTO());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<GenerationJobDTO> getJob(String jobId, String userName) {
+        GenerationJob job = findJob(jobId, userName);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(job.toDTO());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<FileSystemResource> download(String jobId, String userName) {
+        GenerationJob job = findJob(jobId, userName);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // recorded first, so a cleanup running meanwhile postpones the removal of the job
+        job.lastDownloadAt = Instant.now();
+        if (job.status != GenerationStatus.DONE) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        File zipFile = job.result;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + zipFile.getName() + "\"")
+                .contentLength(zipFile.length())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(new JobResultResource(job));
+    }
+
+    /**
+     * Removes the expired jobs together with their zip files.
+     * Jobs whose zip file is being downloaded, or was requested within the grace period, are kept until a later run.
+     */
+    @Scheduled(fixedDelayString = "${generator.jobs.cleanup-interval-ms:60000}")
+    public void removeExpiredJobs() {
+        Instant now = Instant.now();
+        Instant downloadGraceStart = now.minus(Duration.ofMinutes(downloadGraceMinutes));
+        jobs.values().removeIf(job -> {
+            if (job.expiresAt != null && job.expiresAt.isBefore(now)) {
+                if (job.activeDownloads.get() > 0 || (job.lastDownloadAt != null && job.lastDownloadAt.isAfter(downloadGraceStart))) {
+                    log.debug("[JOB] Job {} expired but still downloaded, removal postponed", job.id);
+                    return false;
+                }
+                job.deleteResult();
+                log.info("[JOB] Job {} expired", job.id);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Generates the bundle of a job, tracking the progress of its services.
+     */
+    private void run(GenerationJob job, List<BundleGenerationRequestDTO> requests) {
+        log.info("[JOB] Start job {}", job.id);
+        job.status = GenerationStatus.GENERATING;
+        try {
+            File zipFile = generatorService.generateBundle(requests, (serviceName, status) -> {
+                job.updateService(serviceName, status);
+                if (status == GenerationStatus.ZIPPING) {
+                    job.status = GenerationStatus.ZIPPING;
+                }
+            });
+            job.result = zipFile;
+            job.complete(GenerationStatus.DONE, Duration.ofMinutes(ttlMinutes));
+            log.info("[JOB] End job {}", job.id);
+        } catch (Exception e) {
+            job.error = e.getMessage();
+            job.failServices();
+            job.complete(GenerationStatus.FAILED, Duration.ofMinutes(ttlMinutes));
+            log.error("[JOB] Job {} failed with error {}", job.id, e.getMessage());
+        }
+    }
+
+    private GenerationJob findJob(String jobId, String userName) {
+        GenerationJob job = jobs.get(jobId);
+        if (job == null || !job.userName.equals(userName)) {
+            return null;
+        }
+        return job;
+    }
+
+    private long countActiveJobs(String userName) {
+        return jobs.values().stream()
+                .filter(job -> job.userName.equals(userName))
+                .filter(job -> job.completedAt == null)
+                .count();
+    }
+
+    private static <T> ResponseEntity<T> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .build();
+    }
+
+    /**
+     * State of a generation job, updated by the job thread and the generation workers and read by the status requests.
+     */
+    private static final class GenerationJob {
+        private final String id;
+        private final String projectId;
+        private final String diagramId;
+        private final String userName;
+        private final Instant createdAt = Instant.now();
+        // service name -> status, in request order
+        private final Map<String, GenerationStatus> services = new LinkedHashMap<>();
+
+        private volatile GenerationStatus status = GenerationStatus.QUEUED;
+        private volatile Instant completedAt;
+        private volatile Instant expiresAt;
+        private volatile String error;
+        private volatile File result;
+        private volatile Future<?> future;
+        // downloads streaming the zip file, and time of the last download request
+        private final AtomicInteger activeDownloads = new AtomicInteger();
+        private volatile Instant lastDownloadAt;
+
+        private GenerationJob(String id, String projectId, String diagramId, String userName) {
+            this.id = id;
+            this.projectId = projectId;
+            this.diagramId = diagramId;
+            this.userName = userName;
+        }
+
+        private void updateService(String serviceName, GenerationStatus serviceStatus) {
+            synchronized (services) {
+                services.put(serviceName, serviceStatus);
+            }
+        }
+
+        // services already generated keep their status, the others did not complete
+        private void failServices() {
+            synchronized (services) {
+                services.replaceAll((name, serviceStatus) ->
+                        serviceStatus == GenerationStatus.DONE || serviceStatus == GenerationStatus.GENERATED ? serviceStatus : GenerationStatus.FAILED);
+            }
+        }
+
+        private void complete(GenerationStatus finalStatus, Duration ttl) {
+            Instant now = Instant.now();
+            this.completedAt = now;
+            this.expiresAt = now.plus(ttl);
+            this.status = finalStatus;
+        }
+
+        private void deleteResult() {
+            if (future != null) {
+                future.cancel(true);
+            }
+            if (result != null && !result.delete()) {
+                log.warn("[JOB] Unable to delete zip file {} of job {}", result, id);
+            }
+        }
+
+        private GenerationJobDTO toDTO() {
+            Map<String, GenerationStatus> servicesCopy;
+            synchronized (services) {
+                servicesCopy = new LinkedHashMap<>(services);
+            }
+            return new GenerationJobDTO(id, projectId, diagramId, status, servicesCopy, createdAt, completedAt, expiresAt, error);
+        }
+    }
+
+    /**
+     * Zip file of a job, counting the open streams so the cleanup does not delete the file while it is downloaded.
+     */
+    private static final class JobResultResource extends FileSystemResource {
+        private final GenerationJob job;
+
+        private JobResultResource(GenerationJob job) {
+            super(job.result);
+            this.job = job;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            job.activeDownloads.incrementAndGet();
+            try {
+                return new FilterInputStream(super.getInputStream()) {
+                    private boolean closed;
+
+                    @Override
+                    public void close() throws IOException {
+                        if (!closed) {
+                            closed = true;
+                            job.activeDownloads.decrementAndGet();
+                        }
+                        super.close();
+                    }
+                };
+            } catch (IOException | RuntimeException e) {
+                job.activeDownloads.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+}
@@ -1,28 +1,50 @@
 package it.univaq.microsynth.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import it.univaq.microsynth.Enum.GenerationStatus;
+import it.univaq.microsynth.Enum.LatencyDistribution;
 import it.univaq.microsynth.domain.*;
 import it.univaq.microsynth.domain.dto.BundleGenerationRequestDTO;
 import it.univaq.microsynth.domain.dto.DiagramDTO;
 import it.univaq.microsynth.domain.dto.OutgoingCallDTO;
 import it.univaq.microsynth.domain.dto.OutgoingParamDTO;
 import it.univaq.microsynth.generator.builder.DelegateImplModelBuilder;
+import it.univaq.microsynth.generator.cache.GeneratedServiceCache;
+import it.univaq.microsynth.generator.metrics.GeneratorMetrics;
 import it.univaq.microsynth.generator.model.DelegateImplModel;
 import it.univaq.microsynth.generator.util.GeneratorUtil;
+import it.univaq.microsynth.service.GenerationProgressListener;
 import it.univaq.microsynth.service.GeneratorService;
 import it.univaq.microsynth.util.TemplateUtils;
 import it.univaq.microsynth.util.ZipUtils;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.openapitools.codegen.ClientOptInput;
 import org.openapitools.codegen.DefaultGenerator;
 import org.openapitools.codegen.config.CodegenConfigurator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.zip.ZipOutputStream;
 
 
 
@@ -32,83 +54,228 @@ public class OpenApiGeneratorServiceImpl implements GeneratorService {
     // Starting port for generated services, each service will get a different port incrementing this value
     private final static int START_PORT = 8091;
 
+    // Shared JSON mapper (thread-safe once configured) used to write specs and outgoing calls
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Spring Boot parent of the Java services generated with virtual threads (supported since Boot 3.2)
+    private static final String VIRTUAL_THREADS_SPRING_BOOT_VERSION = "3.3.5";
+
+    // Number of services generated concurrently, 0 means one worker per available core
+    @Value("${generator.parallelism:0}")
+    private int parallelism;
+
+    // Diagrams with at least this number of nodes are converted in parallel, 0 disables the parallel conversion
+    @Value("${generator.convert.parallel-threshold:1000}")
+    private int convertParallelThreshold;
+
+    // Worker pool running the generation of the single services of a bundle
+    private ExecutorService generationExecutor;
+
     // Builder for creating the model used to generate the delegate implementation in Spring services
     private final DelegateImplModelBuilder delegateImplModelBuilder;
 
-    public OpenApiGeneratorServiceImpl(DelegateImplModelBuilder delegateImplModelBuilder) {
+    // Cache of generated service directories, used to skip the generation of unchanged services
+    private final GeneratedServiceCache generatedServiceCache;
+
+    // Duration of the generation phases and bundles in progress
+    private final GeneratorMetrics generatorMetrics;
+
+    public OpenApiGeneratorServiceImpl(DelegateImplModelBuilder delegateImplModelBuilder, GeneratedServiceCache generatedServiceCache, GeneratorMetrics generatorMetrics) {
         this.delegateImplModelBuilder = delegateImplModelBuilder;
+        this.generatedServiceCache = generatedServiceCache;
+        this.generatorMetrics = generatorMetrics;
+    }
+
+    /**
+     * Creates the worker pool used to generate the services of a bundle concurrently.
+     * The pool size is taken from "generator.parallelism", falling back to the number of available cores.
+     */
+    @PostConstruct
+    public void init() {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.generationExecutor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "generator-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("[GENERATOR] Service generation pool initialized with {} workers", workers);
+    }
+
+    /**
+     * Stops the generation worker pool and removes the extracted templates when the application context is closed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        generationExecutor.shutdownNow();
+        TemplateUtils.deleteExtractedTemplates();
     }
 
     /**
      * {@inheritDoc}
      */
     public File generateBundle(List<BundleGenerationRequestDTO> requests) throws Exception {
+        return generateBundle(requests, GenerationProgressListener.NONE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public File generateBundle(List<BundleGenerationRequestDTO> requests, GenerationProgressListener listener) throws Exception {
         log.info("[GENERATOR] Start bundle generation for n. {} of services ", requests.size());
 
         Path tempRootDir = Files.createTempDirectory("multi_generator_");
-        List<Map<String, String>> services = new ArrayList<>();
-        int portOffset = 0;
-
-        for (BundleGenerationRequestDTO request : requests) {
-            log.info("[GENERATOR] Generating service {} with type {}", request.getProjectName(), request.getType());
-            // Create project directory
-            Path projectDir = tempRootDir.resolve(GeneratorUtil.sanitizeDockerServiceName(request.getProjectName()));
-            Files.createDirectories(projectDir);
-
-            // OpenAPI file creation
-            log.info("[GENERATOR] Start creating OpenAPI spec file");
-            Path openapiFile = projectDir.resolve("openapi.json");
-            String json = new com.fasterxml.jackson.databind.ObjectMapper()
-                    .writerWithDefaultPrettyPrinter()
-                    .writeValueAsString(request.getApiSpec());
-            Files.writeString(openapiFile, json);
-            log.info("[GENERATOR] End creating OpenAPI spec file");
-
-            // generate single service from openapi
-            log.info("[GENERATOR] Start generating code for single service {} with type {}", request.getProjectName(), request.getType());
-            generateSingleService(request, openapiFile, projectDir);
-            log.info("[GENERATOR] End generating code for single service {}", request.getProjectName());
-
-            // Port
-            int externalPort = START_PORT + portOffset++;
-            String port = String.valueOf(externalPort);
-
-            // write dockerFile in the project directory
-            log.info("[GENERATOR] Start creating Dockerfile");
-            TemplateUtils.writeRenderedTemplate(
-                    GeneratorUtil.getDockerTemplate(request.getType()),
-                    projectDir.resolve("Dockerfile"),
-                    Map.of(
-                            "projectName", request.getProjectName(),
-                            "port", port
-                    )
-            );
-            log.info("[GENERATOR] End creating Dockerfile");
+        int bundleSize = requests.size();
+        Timer.Sample bundleSample = generatorMetrics.start();
+        generatorMetrics.bundleStarted(tempRootDir);
+        boolean success = false;
+
+        // Each service is generated in its own directory by a worker of the pool.
+        // Ports are assigned from the position of the request, so they do not depend on completion order
+        List<String> serviceNames = requests.stream()
+                .map(r -> GeneratorUtil.sanitizeDockerServiceName(r.getProjectName()))
+                .toList();
+        serviceNames.forEach(name -> listener.onServiceStatus(name, GenerationStatus.QUEUED));
+        BundleTasks tasks = new BundleTasks();
+        List<Future<Map<String, String>>> futures = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BundleGenerationRequestDTO request = requests.get(i);
+            String serviceName = serviceNames.get(i);
+            String port = String.valueOf(START_PORT + i);
+            futures.add(generationExecutor.submit(() -> tasks.run(() -> {
+                listener.onServiceStatus(serviceName, GenerationStatus.GENERATING);
+                try {
+                    Map<String, String> service = generateServiceDirectory(request, tempRootDir, port, bundleSize, tasks);
+                    listener.onServiceStatus(serviceName, GenerationStatus.GENERATED);
+                    return service;
+                } catch (Exception e) {
+                    listener.onServiceStatus(serviceName, GenerationStatus.FAILED);
+                    throw e;
+                }
+            })));
+        }
 
-            // Add to services list for global docker-compose
-            String serviceName = GeneratorUtil.sanitizeDockerServiceName(request.getProjectName());
+        try {
+            List<Map<String, String>> services = awaitServices(futures, tasks);
+            serviceNames.forEach(name -> listener.onServiceStatus(name, GenerationStatus.ZIPPING));
 
-            services.add(Map.of(
-                    "name", serviceName,
-                    "path", "./" + serviceName + "/generated",
-                    "port", port
-            ));
-        } // each node service
+            // locust and docker-compose files
+            for (Map.Entry<String, String> file : renderBundleFiles(requests, services).entrySet()) {
+                Path target = tempRootDir.resolve(file.getKey());
+                Files.createDirectories(target.getParent());
+                Files.writeString(target, file.getValue(), StandardCharsets.UTF_8);
+            }
 
-        log.info("[GENERATOR] Start creating Locust Dockerfile");
-        Path locustDir = tempRootDir.resolve("locust");
-        Files.createDirectories(locustDir);
+            // Final zip
+            log.info("[GENERATOR] Creating final zip file for the bundle");
+            Timer.Sample zipSample = generatorMetrics.start();
+            File zipFile = Files.createTempFile("bundle_", ".zip").toFile();
+            ZipUtils.zipFolder(tempRootDir, zipFile);
+            generatorMetrics.stop(zipSample, GeneratorMetrics.PHASE_ZIP, GeneratorMetrics.ALL_LANGUAGES, bundleSize);
+            serviceNames.forEach(name -> listener.onServiceStatus(name, GenerationStatus.DONE));
+
+            log.info("[GENERATOR] End bundle generation");
+            success = true;
+            return zipFile;
+        } finally {
+            ZipUtils.deleteFolder(tempRootDir);
+            generatorMetrics.bundleFinished(tempRootDir, bundleSize, success);
+            generatorMetrics.stop(bundleSample, GeneratorMetrics.PHASE_BUNDLE, GeneratorMetrics.ALL_LANGUAGES, bundleSize);
+        }
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void streamBundle(List<BundleGenerationRequestDTO> requests, OutputStream outputStream) throws Exception {
+        log.info("[GENERATOR] Start streaming bundle generation for n. {} of services ", requests.size());
+
+        Path tempRootDir = Files.createTempDirectory("multi_generator_");
+        int bundleSize = requests.size();
+        Timer.Sample bundleSample = generatorMetrics.start();
+        generatorMetrics.bundleStarted(tempRootDir);
+        boolean success = false;
+        // time spent adding the services to the archive, summed over the services
+        long zipNanos = 0;
+        CompletionService<Integer> completionService = new ExecutorCompletionService<>(generationExecutor);
+        BundleTasks tasks = new BundleTasks();
+        List<Future<Integer>> futures = new ArrayList<>();
+        List<Map<String, String>> services = new ArrayList<>(Collections.nCopies(requests.size(), null));
+
+        ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(outputStream));
+        try {
+            for (int i = 0; i < requests.size(); i++) {
+                int index = i;
+                BundleGenerationRequestDTO request = requests.get(i);
+                String port = String.valueOf(START_PORT + i);
+                futures.add(completionService.submit(() -> tasks.run(() -> {
+                    services.set(index, generateServiceDirectory(request, tempRootDir, port, bundleSize, tasks));
+                    return index;
+                })));
+            }
+
+            // services are written to the archive in completion order and removed from disk right after
+            for (int done = 0; done < requests.size(); done++) {
+                int index = completionService.take().get();
+                String serviceName = services.get(index).get("name");
+                Path serviceDir = tempRootDir.resolve(serviceName);
+                long zipStart = System.nanoTime();
+                ZipUtils.zipFolder(serviceDir, zos, serviceName + "/");
+                zos.flush();
+                zipNanos += System.nanoTime() - zipStart;
+                ZipUtils.deleteFolder(serviceDir);
+                log.info("[GENERATOR] Service {} streamed ({}/{})", serviceName, done + 1, requests.size());
+            }
+
+            // locust and docker-compose files
+            for (Map.Entry<String, String> file : renderBundleFiles(requests, services).entrySet()) {
+                ZipUtils.addEntry(zos, file.getKey(), file.getValue().getBytes(StandardCharsets.UTF_8));
+            }
+            zos.finish();
+            zos.flush();
+            generatorMetrics.record(GeneratorMetrics.PHASE_ZIP, GeneratorMetrics.ALL_LANGUAGES, bundleSize, zipNanos);
+            log.info("[GENERATOR] End streaming bundle generation");
+            success = true;
+        } catch (ExecutionException e) {
+            tasks.abort(futures);
+            log.error("[GENERATOR] Service generation failed: {}", e.getCause().getMessage());
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        } catch (Exception e) {
+            tasks.abort(futures);
+            throw e;
+        } finally {
+            ZipUtils.deleteFolder(tempRootDir);
+            generatorMetrics.bundleFinished(tempRootDir, bundleSize, success);
+            generatorMetrics.stop(bundleSample, GeneratorMetrics.PHASE_BUNDLE, GeneratorMetrics.ALL_LANGUAGES, bundleSize);
+        }
+    }
+
+    /**
+     * Renders the files shared by all the services of the bundle: Locust Dockerfile, locust.py and the global docker-compose.
+     * @param requests - the bundle generation requests
+     * @param services - the docker-compose entries of the generated services (name, path and port), in request order
+     * @return the rendered files, keyed by their path relative to the bundle root
+     * @throws IOException if any error occurs while rendering the templates
+     */
+    private Map<String, String> renderBundleFiles(List<BundleGenerationRequestDTO> requests, List<Map<String, String>> services) throws IOException {
+        Timer.Sample sample = generatorMetrics.start();
+        Map<String, String> files = new LinkedHashMap<>();
+
+        log.info("[GENERATOR] Start creating Locust Dockerfile");
         // Map services > port
         Map<String, Object> portByService = services.stream()
                 .collect(Collectors.toMap(s -> s.get("name"), s -> s.get("port")));
 
         // Generate Dockerfile for locust
-        TemplateUtils.writeRenderedTemplate(
+        files.put("locust/Dockerfile", TemplateUtils.renderTemplate(
                 "locust/Dockerfile-locust.template",
-                locustDir.resolve("Dockerfile"),
                 portByService
-        );
+        ));
         log.info("[GENERATOR] End creating Locust Dockerfile");
 
         // Generate locustfile.py
@@ -117,30 +284,106 @@ public class OpenApiGeneratorServiceImpl implements GeneratorService {
         List<BundleGenerationRequestDTO> initiatorsRequests = requests.stream()
                 .filter(BundleGenerationRequestDTO::getInitiator)
                 .toList();
-        TemplateUtils.writeRenderedTemplate(
+        files.put("locust/locust.py", TemplateUtils.renderTemplate(
                 "locust/locust.py.template",
-                locustDir.resolve("locust.py"),
                 Map.of("services", initiatorsRequests)
-        );
+        ));
         log.info("[GENERATOR] End creating Locust locust.py config file");
 
         // Docker compose for all services
         log.info("[GENERATOR] Start creating docker-compose.yml for all services");
-        Path composeFile = tempRootDir.resolve("docker-compose.yml");
-        TemplateUtils.writeRenderedTemplate(
+        files.put("docker-compose.yml", TemplateUtils.renderTemplate(
                 "docker/docker-compose-multi.yml.template",
-                composeFile,
                 Map.of("services", services)
-        );
+        ));
         log.info("[GENERATOR] End creating docker-compose.yml for all services");
+        generatorMetrics.stop(sample, GeneratorMetrics.PHASE_BUNDLE_FILES, GeneratorMetrics.ALL_LANGUAGES, requests.size());
+        return files;
+    }
+
+    /**
+     * Generates the directory of a single service of the bundle: OpenAPI spec, generated code and Dockerfile.
+     * This method is executed by the workers of the generation pool, so it must not share mutable state with other services.
+     * @param request - the bundle generation request of the service
+     * @param tempRootDir - the root directory of the bundle
+     * @param port - the external port assigned to the service
+     * @param bundleSize - the number of services of the bundle, used to tag the metrics
+     * @param tasks - the tasks of the bundle, checked before caching the generated code
+     * @return the entry of the service for the global docker-compose (name, path and port)
+     * @throws IOException if any error occurs while writing the service files
+     */
+    private Map<String, String> generateServiceDirectory(BundleGenerationRequestDTO request, Path tempRootDir, String port, int bundleSize, BundleTasks tasks) throws IOException {
+        log.info("[GENERATOR] Generating service {} with type {}", request.getProjectName(), request.getType());
+        // Create project directory
+        String serviceName = GeneratorUtil.sanitizeDockerServiceName(request.getProjectName());
+        Path projectDir = tempRootDir.resolve(serviceName);
+        Files.createDirectories(projectDir);
+
+        // OpenAPI file creation
+        log.info("[GENERATOR] Start creating OpenAPI spec file");
+        Timer.Sample specSample = generatorMetrics.start();
+        Path openapiFile = projectDir.resolve("openapi.json");
+        String json = MAPPER.writerWithDefaultPrettyPrinter()
+                .writeValueAsString(request.getApiSpec());
+        Files.writeString(openapiFile, json);
+        generatorMetrics.stop(specSample, GeneratorMetrics.PHASE_SPEC, request.getType(), bundleSize);
+        log.info("[GENERATOR] End creating OpenAPI spec file");
+
+        // generate single service from openapi
+        log.info("[GENERATOR] Start generating code for single service {} with type {}", request.getProjectName(), request.getType());
+        generateSingleService(request, openapiFile, projectDir, bundleSize, tasks);
+        log.info("[GENERATOR] End generating code for single service {}", request.getProjectName());
+
+        // write dockerFile in the project directory
+        log.info("[GENERATOR] Start creating Dockerfile");
+        Timer.Sample dockerfileSample = generatorMetrics.start();
+        TemplateUtils.writeRenderedTemplate(
+                GeneratorUtil.getDockerTemplate(request.getType()),
+                projectDir.resolve("Dockerfile"),
+                Map.of(
+                        "projectName", request.getProjectName(),
+                        "port", port,
+                        "virtualThreads", isVirtualThreads(request),
+                        "cluster", isCluster(request)
+                )
+        );
+        generatorMetrics.stop(dockerfileSample, GeneratorMetrics.PHASE_DOCKERFILE, request.getType(), bundleSize);
+        log.info("[GENERATOR] End creating Dockerfile");
 
-        // Final zip
-        log.info("[GENERATOR] Creating final zip file for the bundle");
-        File zipFile = Files.createTempFile("bundle_", ".zip").toFile();
-        ZipUtils.zipFolder(tempRootDir, zipFile);
+        return Map.of(
+                "name", serviceName,
+                "path", "./" + serviceName + "/generated",
+                "port", port
+        );
+    }
 
-        log.info("[GENERATOR] End bundle generation");
-        return zipFile;
+    /**
+     * Waits for every service of the bundle to be generated, keeping the order of the requests.
+     * If a service fails, the pending ones are cancelled, the running ones are awaited and the original error is rethrown.
+     * @param futures - the pending generations, one per request
+     * @param tasks - the tasks of the bundle, aborted on failure
+     * @return the docker-compose entries of the generated services
+     * @throws Exception the error raised by the first failed generation
+     */
+    private List<Map<String, String>> awaitServices(List<Future<Map<String, String>>> futures, BundleTasks tasks) throws Exception {
+        List<Map<String, String>> services = new ArrayList<>();
+        try {
+            for (Future<Map<String, String>> future : futures) {
+                services.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            tasks.abort(futures);
+            log.error("[GENERATOR] Service generation failed: {}", e.getCause().getMessage());
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            tasks.abort(futures);
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        return services;
     }
 
     /**
@@ -149,9 +392,11 @@ public class OpenApiGeneratorServiceImpl implements GeneratorService {
      * @param request - the bundle generation request containing the OpenAPI spec and other configuration
      * @param openapiFile - the path to the OpenAPI specification file to use for code generation
      * @param projectDir - the directory where the generated code and supporting files should be placed
+     * @param bundleSize - the number of services of the bundle, used to tag the metrics
+     * @param tasks - the tasks of the bundle, checked before caching the generated code
      * @throws IOException if any error occurs during file I/O operations (e.g. writing generated code, creating directories, etc.)
      */
-    private void generateSingleService(BundleGenerationRequestDTO request, Path openapiFile, Path projectDir) throws IOException {
+    private void generateSingleService(BundleGenerationRequestDTO request, Path openapiFile, Path projectDir, int bundleSize, BundleTasks tasks) throws IOException {
         // Choose generator
         String generatorName = GeneratorUtil.mapGenerator(request.getType());
 
@@ -159,12 +404,19 @@ public class OpenApiGeneratorServiceImpl implements GeneratorService {
         Path outputDir = projectDir.resolve("generated");
         Files.createDirectories(outputDir);
 
+        // custom templates are extracted once per generator and shared by all the generations
         Path templateBaseDir = TemplateUtils.extractTemplates(generatorName);
         Path templateDir = templateBaseDir.resolve(generatorName);
-
-        Files.walk(templateDir).forEach(p ->
-                log.info("[TEMPLATE] {}", p)
-        );
+        log.debug("[TEMPLATE] Using templates in {}", templateDir);
+
+        // Unchanged services are copied from the cache instead of being generated again
+        boolean virtualThreads = isVirtualThreads(request);
+        String cacheKey = generatedServiceCache.key(generatorName, request.getApiSpec(), request.getOutgoingCalls(),
+                Map.of("virtualThreads", virtualThreads), templateDir);
+        if (generatedServiceCache.restore(cacheKey, outputDir)) {
+            log.info("[GENERATOR] Service {} restored from generation cache", request.getProjectName());
+            return;
+        }
 
         // Generate code with OpenAPI Generator
         CodegenConfigurator configurator =
@@ -179,8 +431,7 @@ public class OpenApiGeneratorServiceImpl implements GeneratorService {
                         .addAdditionalProperty("useTags", "true"); // organize operations in separate class (ex. path1Post -> Path1Api, path2Get → Path2Api, etc.)
 
         log.info("[GENERATOR] Serializing service outgoing calls to JSON");
-        ObjectMapper mapper = new ObjectMapper();
-        String outgoingCallsJson = mapper.writeValueAsString(request.getOutgoingCalls());
+        String outgoingCallsJson = MAPPER.writeValueAsString(request.getOutgoingCalls());
 
         // Spring specific configuration (delegate pattern)
         if(generatorName.equals("spring")) {
@@ -189,6 +440,15 @@ public class OpenApiGeneratorServiceImpl implements GeneratorService {
             configurator.addAdditionalProperty("useSpringController", true)
                     .addAdditionalProperty("delegatePattern", true)
                     .addAdditionalProperty("useResponseEntity", true);
+            if (virtualThreads) {
+                // Spring Boot 3 on Java 21 (set by the Dockerfile), Tomcat and the outgoing calls run on virtual threads
+                log.info("[GENERATOR] Virtual threads enabled for service {}", request.getProjectName());
+                configurator.addAdditionalProperty("useSpringBoot3", true)
+                        .addAdditionalProperty("parentGroupId", "org.springframework.boot")
+                        .addAdditionalProperty("parentArtifactId", "spring-boot-starter-parent")
+                        .addAdditionalProperty("parentVersion", VIRTUAL_THREADS_SPRING_BOOT_VERSION)
+                        .addAdditionalProperty("virtualThreads", true);
+            }
             DelegateImplModel delegateModel = delegateImplModelBuilder.build(request);
 
             configurator
@@ -205,8 +465,18 @@ public class OpenApiGeneratorServiceImpl implements GeneratorService {
         ClientOptInput input = configurator.toClientOptInput();
         log.info("[GENERATOR] Start code generation with openapi tools for service {}", request.getProjectName());
         // generate
+        Timer.Sample codegenSample = generatorMetrics.start();
         new DefaultGenerator().opts(input).generate();
+        generatorMetrics.stop(codegenSample, GeneratorMetrics.PHASE_CODEGEN, request.getType(), bundleSize);
+        generatorMetrics.serviceGenerated(request.getType());
         log.info("[GENERATOR] End code generation with openapi tools for service {}", request.getProjectName());
+
+        // an interrupted generation may have left incomplete files, do not cache it under a valid key
+        if (Thread.currentThread().isInterrupted() || tasks.isAborted()) {
+            log.info("[GENERATOR] Bundle aborted, service {} not stored in generation cache", request.getProjectName());
+            return;
+        }
+        generatedServiceCache.store(cacheKey, outputDir);
     }
 
     /**
@@ -215,170 +485,344 @@ public class OpenApiGeneratorServiceImpl implements GeneratorService {
     @Override
     public List<BundleGenerationRequestDTO> convertGraphToRequests(DiagramDTO diagram) {
         log.info("[GENERATOR] Start Converting diagram to bundle generation requests for diagram {}", diagram.getName());
-        List<BundleGenerationRequestDTO> requests = new ArrayList<>();
+        Timer.Sample sample = generatorMetrics.start();
+        List<Node> nodes = diagram.getData().getNodes();
+        checkUniqueServiceNames(nodes);
 
         // Create a map of nodeId -> Node for easy lookup when building outgoing calls
-        Map<String, Node> nodeMap = diagram.getData().getNodes().stream()
+        Map<String, Node> nodeMap = nodes.stream()
                 .collect(Collectors.toMap(Node::getId, n -> n));
 
-        log.info("[GENERATOR] Start build OpenAPI spec for n. of nodes {}", diagram.getData().getNodes().size());
-        for (Node node : diagram.getData().getNodes()) {
-            NodePayload payload = node.getPayload();
-
-            log.info("[GENERATOR] build OpenAPI spec for node {} with label {}", node.getId(), node.getLabel());
-            // Creazione OpenAPI skeleton
-            Map<String, Object> openapi = new LinkedHashMap<>();
-            openapi.put("openapi", "3.0.0");
-            openapi.put("info", Map.of(
-                    "title", GeneratorUtil.sanitize(node.getLabel()),
-                    "version", "1.0.0",
-                    "description", payload.getDescription()
-            ));
-
-            Map<String, Map<String, Object>> paths = new LinkedHashMap<>();
-
-            // Add node endpoints to OpenAPI paths
-            for (Endpoint ep : payload.getEndpoints()) {
-                String path = ep.getPath() == null || ep.getPath().isEmpty() ? "/" : ep.getPath();
-                String method = ep.getMethod() == null || ep.getMethod().isEmpty() ? "get" : ep.getMethod().toLowerCase();
-
-                // Building parameters OpenAPI valid
-                List<Map<String, Object>> parameters = ep.getParameters().stream().map(p -> Map.of(
-                        "name", p.getName(),
-                        "in", "query",
-                            "required", p.isRequired(),
-                        "schema", Map.of("type", p.getType().name().toLowerCase())
-                )).toList();
-
-                Map<String, Object> responses = ep.getResponses().stream()
-                        .collect(Collectors.toMap(
-                                r -> String.valueOf(r.getStatus()),
-                                r -> Map.of(
-                                        "description", r.getDescription(),
-                                        "content", Map.of(
-                                                r.getType(), Map.of(
-                                                        "schema", Map.of(
-                                                                "type", "object",
-                                                                "example", r.getContent()
-                                                        )
-                                                )
-                                        )
-                                )
-                        ));
+        // Group the connections by source node in a single pass, so each node only visits its own connections
+        Map<String, List<Connection>> connectionsBySource = diagram.getData().getConnections().stream()
+                .collect(Collectors.groupingBy(Connection::getSource));
 
-                Map<String, Object> operation = new LinkedHashMap<>();
-                operation.put("summary", ep.getSummary());
-                operation.put("operationId", GeneratorUtil.toOperationId(path, method));
-                operation.put("responses", responses);
-                operation.put("x-complexity",
-                        ep.getComplexity() != null ? ep.getComplexity() : 0);
+        log.info("[GENERATOR] Start build OpenAPI spec for n. of nodes {}", nodes.size());
+        // nodes are independent, big diagrams are converted in parallel keeping the order of the nodes
+        boolean parallel = convertParallelThreshold > 0 && nodes.size() >= convertParallelThreshold;
+        List<BundleGenerationRequestDTO> requests = (parallel ? nodes.parallelStream() : nodes.stream())
+                .map(node -> buildRequest(node, nodeMap, connectionsBySource))
+                .toList();
+        log.info("[GENERATOR] End build OpenAPI spec");
+        generatorMetrics.stop(sample, GeneratorMetrics.PHASE_CONVERT, GeneratorMetrics.ALL_LANGUAGES, nodes.size());
+        log.info("[GENERATOR] End converting diagram to bundle generation requests for diagram {}", diagram.getName());
+        return requests;
+    }
 
-                if (method.equals("post") || method.equals("put")
-                        || method.equals("patch") || method.equals("delete")) {
+    /**
+     * Checks that the labels of the nodes give distinct Docker service names.
+     * The service name is the directory of the service in the bundle and its host in the docker-compose network,
+     * two equal names would give duplicate zip entries, found only once the bundle is already being streamed.
+     * @param nodes - the nodes of the diagram
+     * @throws IllegalArgumentException if two nodes have the same service name
+     */
+    private static void checkUniqueServiceNames(List<Node> nodes) {
+        Map<String, String> labelsByServiceName = new HashMap<>();
+        for (Node node : nodes) {
+            String serviceName = GeneratorUtil.sanitizeDockerServiceName(node.getLabel());
+            String other = labelsByServiceName.putIfAbsent(serviceName, node.getLabel());
+            if (other != null) {
+                throw new IllegalArgumentException("Nodes '" + other + "' and '" + node.getLabel()
+                        + "' have the same service name '" + serviceName + "', rename one of them");
+            }
+        }
+    }
 
-                    // ===== JSON BODY =====
-                    Map<String, Object> properties = new LinkedHashMap<>();
-                    List<String> required = new ArrayList<>();
+    /**
+     * Builds the bundle generation request of a single node: OpenAPI specification, outgoing calls and service settings.
+     * @param node - the node of the diagram
+     * @param nodeMap - the nodes of the diagram by id
+     * @param connectionsBySource - the connections of the diagram grouped by source node id
+     * @return the bundle generation request of the node
+     */
+    private BundleGenerationRequestDTO buildRequest(Node node, Map<String, Node> nodeMap, Map<String, List<Connection>> connectionsBySource) {
+        NodePayload payload = node.getPayload();
+
+        log.debug("[GENERATOR] build OpenAPI spec for node {} with label {}", node.getId(), node.getLabel());
+        // Creazione OpenAPI skeleton
+        Map<String, Object> openapi = new LinkedHashMap<>();
+        openapi.put("openapi", "3.0.0");
+        openapi.put("info", Map.of(
+                "title", GeneratorUtil.sanitize(node.getLabel()),
+                "version", "1.0.0",
+                "description", payload.getDescription()
+        ));
+
+        Map<String, Map<String, Object>> paths = new LinkedHashMap<>();
+
+        // Add node endpoints to OpenAPI paths
+        for (Endpoint ep : payload.getEndpoints()) {
+            String path = ep.getPath() == null || ep.getPath().isEmpty() ? "/" : ep.getPath();
+            String method = ep.getMethod() == null || ep.getMethod().isEmpty() ? "get" : ep.getMethod().toLowerCase();
+
+            // Building parameters OpenAPI valid
+            List<Map<String, Object>> parameters = ep.getParameters().stream().map(p -> Map.of(
+                    "name", p.getName(),
+                    "in", "query",
+                        "required", p.isRequired(),
+                    "schema", Map.of("type", p.getType().name().toLowerCase())
+            )).toList();
+
+            Map<String, Object> responses = ep.getResponses().stream()
+                    .collect(Collectors.toMap(
+                            r -> String.valueOf(r.getStatus()),
+                            r -> Map.of(
+                                    "description", r.getDescription(),
+                                    "content", Map.of(
+                                            r.getType(), Map.of(
+                                                    "schema", Map.of(
+                                                            "type", "object",
+                                                            "example", r.getContent()
+                                                    )
+                                            )
+                                    )
+                            )
+                    ));
+
+            Map<String, Object> operation = new LinkedHashMap<>();
+            operation.put("summary", ep.getSummary());
+            operation.put("operationId", GeneratorUtil.toOperationId(path, method));
+            operation.put("responses", responses);
+            operation.put("x-complexity",
+                    ep.getComplexity() != null ? ep.getComplexity() : 0);
+            if (ep.getLatency() != null) {
+                operation.put("x-latency", buildLatencyExtension(ep.getLatency(), path, method));
+            }
 
+            if (method.equals("post") || method.equals("put")
+                    || method.equals("patch") || method.equals("delete")) {
 
+                // ===== JSON BODY =====
+                Map<String, Object> properties = new LinkedHashMap<>();
+                List<String> required = new ArrayList<>();
 
-                    for (Parameter p : ep.getParameters()) {
-                        properties.put(
-                                p.getName(),
-                                Map.of("type", p.getType().name().toLowerCase())
-                        );
-                        if (p.isRequired()) {
-                            required.add(p.getName());
-                        }
-                    }
 
-                    Map<String, Object> schema = new LinkedHashMap<>();
-                    schema.put("title", GeneratorUtil.toOperationId(path, method) + "Request");
-                    schema.put("type", "object");
-                    schema.put("properties", properties);
-                    if (!required.isEmpty()) {
-                        schema.put("required", required);
-                    }
 
-                    operation.put(
-                            "requestBody",
-                            Map.of(
-                                    "required", true,
-                                    "content", Map.of(
-                                            "application/json", Map.of(
-                                                    "schema", schema
-                                            )
-                                    )
-                            )
+                for (Parameter p : ep.getParameters()) {
+                    properties.put(
+                            p.getName(),
+                            Map.of("type", p.getType().name().toLowerCase())
                     );
+                    if (p.isRequired()) {
+                        required.add(p.getName());
+                    }
+                }
 
-                } else {
-                    // ===== QUERY PARAMS (GET) =====
-                    operation.put("parameters", parameters);
+                Map<String, Object> schema = new LinkedHashMap<>();
+                schema.put("title", GeneratorUtil.toOperationId(path, method) + "Request");
+                schema.put("type", "object");
+                schema.put("properties", properties);
+                if (!required.isEmpty()) {
+                    schema.put("required", required);
                 }
 
-                paths.computeIfAbsent(path, k -> new LinkedHashMap<>())
-                        .put(method, operation);
+                operation.put(
+                        "requestBody",
+                        Map.of(
+                                "required", true,
+                                "content", Map.of(
+                                        "application/json", Map.of(
+                                                "schema", schema
+                                        )
+                                )
+                        )
+                );
+
+            } else {
+                // ===== QUERY PARAMS (GET) =====
+                operation.put("parameters", parameters);
             }
 
-            openapi.put("paths", paths);
-            // Create final DTO for this node
-            BundleGenerationRequestDTO dto = new BundleGenerationRequestDTO();
-            dto.setType(payload.getLanguage());
-            dto.setProjectName(GeneratorUtil.sanitize(node.getLabel()));
-            dto.setApiSpec(openapi);
-
-            // Outgoing calls
-            dto.setOutgoingCalls(buildOutgoingCalls(node, nodeMap, diagram.getData().getConnections()));
-            dto.setInitiator(node.getPayload().getInitiator());
-            requests.add(dto);
+            paths.computeIfAbsent(path, k -> new LinkedHashMap<>())
+                    .put(method, operation);
         }
-        log.info("[GENERATOR] End build OpenAPI spec");
-        log.info("[GENERATOR] End converting diagram to bundle generation requests for diagram {}", diagram.getName());
-        return requests;
+
+        openapi.put("paths", paths);
+        // Create final DTO for this node
+        BundleGenerationRequestDTO dto = new BundleGenerationRequestDTO();
+        dto.setType(payload.getLanguage());
+        dto.setProjectName(GeneratorUtil.sanitize(node.getLabel()));
+        dto.setApiSpec(openapi);
+
+        // Outgoing calls
+        dto.setOutgoingCalls(buildOutgoingCalls(node, nodeMap, connectionsBySource.getOrDefault(node.getId(), List.of())));
+        dto.setInitiator(node.getPayload().getInitiator());
+        dto.setVirtualThreads(node.getPayload().getVirtualThreads());
+        dto.setCluster(node.getPayload().getCluster());
+        return dto;
     }
 
+    /**
+     * Virtual threads are only available for the Java services.
+     * @param request - the bundle generation request of the service
+     * @return true if the service has to be generated with virtual threads
+     */
+    private static boolean isVirtualThreads(BundleGenerationRequestDTO request) {
+        return Boolean.TRUE.equals(request.getVirtualThreads())
+                && GeneratorUtil.mapGenerator(request.getType()).equals("spring");
+    }
+
+    /**
+     * Cluster mode is only available for the Node.js services.
+     * @param request - the bundle generation request of the service
+     * @return true if the service has to be started in cluster mode
+     */
+    private static boolean isCluster(BundleGenerationRequestDTO request) {
+        return Boolean.TRUE.equals(request.getCluster())
+                && GeneratorUtil.mapGenerator(request.getType()).equals("nodejs-express");
+    }
+
+    /**
+     * Builds the x-latency extension of an operation from the latency model of its endpoint.
+     * Every parameter is always present, so the templates can write them as literals without checking the distribution.
+     * @param latency - the latency model of the endpoint
+     * @param path - the path of the endpoint, used in the error messages
+     * @param method - the method of the endpoint, used in the error messages
+     * @return the extension, with the distribution name in lower case and the percentiles sorted
+     * @throws IllegalArgumentException if the parameters of the distribution are not valid
+     */
+    private static Map<String, Object> buildLatencyExtension(LatencyModel latency, String path, String method) {
+        LatencyDistribution distribution = latency.getDistribution() != null ? latency.getDistribution() : LatencyDistribution.CONSTANT;
+        String endpoint = method.toUpperCase() + " " + path;
+        if (latency.getCpuFraction() < 0 || latency.getCpuFraction() > 1) {
+            throw new IllegalArgumentException("CPU fraction of the latency of " + endpoint + " must be between 0 and 1");
+        }
+        if (latency.getValue() < 0 || latency.getMin() < 0 || latency.getMax() < 0 || latency.getMean() < 0
+                || latency.getStdDev() < 0 || latency.getMedian() < 0 || latency.getSigma() < 0) {
+            throw new IllegalArgumentException("Parameters of the latency of " + endpoint + " must not be negative");
+        }
+        if (distribution == LatencyDistribution.UNIFORM && latency.getMin() > latency.getMax()) {
+            throw new IllegalArgumentException("Uniform latency of " + endpoint + " has min greater than max");
+        }
+
+        List<LatencyPercentile> percentiles = latency.getPercentiles() != null ? latency.getPercentiles() : List.of();
+        if (distribution == LatencyDistribution.EMPIRICAL && percentiles.isEmpty()) {
+            throw new IllegalArgumentException("Empirical latency of " + endpoint + " needs at least one percentile");
+        }
+        if (percentiles.stream().anyMatch(pt -> pt.getP() < 0 || pt.getP() > 100 || pt.getMs() < 0)) {
+            throw new IllegalArgumentException("Percentiles of the latency of " + endpoint + " must be between 0 and 100 with non negative latencies");
+        }
+
+        Map<String, Object> extension = new LinkedHashMap<>();
+        extension.put("distribution", distribution.name().toLowerCase());
+        extension.put("value", latency.getValue());
+        extension.put("min", latency.getMin());
+        extension.put("max", latency.getMax());
+        extension.put("mean", latency.getMean());
+        extension.put("stdDev", latency.getStdDev());
+        extension.put("median", latency.getMedian());
+        extension.put("sigma", latency.getSigma());
+        extension.put("cpuFraction", latency.getCpuFraction());
+        extension.put("percentiles", percentiles.stream()
+                .sorted(Comparator.comparingDouble(LatencyPercentile::getP))
+                .map(pt -> Map.of("p", pt.getP(), "ms", pt.getMs()))
+                .toList());
+        return extension;
+    }
+
+    /**
+     * Builds the outgoing calls of a node from the connections starting from it.
+     * @param node - the source node
+     * @param nodeMap - the nodes of the diagram by id
+     * @param connections - the connections whose source is the node
+     * @return the outgoing calls of the node
+     */
     private List<OutgoingCallDTO> buildOutgoingCalls(Node node, Map<String, Node> nodeMap, List<Connection> connections) {
         List<OutgoingCallDTO> outgoing = new ArrayList<>();
 
-        log.info("[GENERATOR] Start building outgoing calls for node {} with label {}", node.getId(), node.getLabel());
+        log.debug("[GENERATOR] Start building outgoing calls for node {} with label {}", node.getId(), node.getLabel());
         // each connection from this node
         for (Connection c : connections) {
-            if (c.getSource().equals(node.getId())) {
+            Node targetNode = nodeMap.get(c.getTarget());
+            if (targetNode == null) continue;
 
-                Node targetNode = nodeMap.get(c.getTarget());
-                if (targetNode == null) continue;
+            ConnectionPayload cp = c.getPayload();
+            if (cp == null || cp.getApiCall() == null) continue;
 
-                ConnectionPayload cp = c.getPayload();
-                if (cp == null || cp.getApiCall() == null) continue;
-
-                ApiCall api = cp.getApiCall();
-
-                OutgoingCallDTO call = new OutgoingCallDTO();
-                call.setOperationId(
-                        GeneratorUtil.sanitize(api.getPath() + "-" + api.getMethod().toLowerCase())
-                );
-                call.setTargetService(GeneratorUtil.sanitizeDockerServiceName(targetNode.getLabel()));
-                call.setHttpMethod(api.getMethod());
-                call.setPath(api.getPath());
-                call.setWeight(c.getWeight());
-                call.setBaseUrl(
-                        "http://" + call.getTargetService() + ":" + call.getPort()
-                );
+            ApiCall api = cp.getApiCall();
 
-                List<OutgoingParamDTO> params = new ArrayList<>();
-                for (ParameterValue<?> pv : api.getParameterValues()) {
-                    params.add(new OutgoingParamDTO(pv.getName(), pv.getValue()));
-                }
-                call.setParameters(params);
+            OutgoingCallDTO call = new OutgoingCallDTO();
+            call.setOperationId(
+                    GeneratorUtil.sanitize(api.getPath() + "-" + api.getMethod().toLowerCase())
+            );
+            call.setTargetService(GeneratorUtil.sanitizeDockerServiceName(targetNode.getLabel()));
+            call.setHttpMethod(api.getMethod());
+            call.setPath(api.getPath());
+            call.setWeight(c.getWeight());
+            call.setBaseUrl(
+                    "http://" + call.getTargetService() + ":" + call.getPort()
+            );
 
-                outgoing.add(call);
+            List<OutgoingParamDTO> params = new ArrayList<>();
+            for (ParameterValue<?> pv : api.getParameterValues()) {
+                params.add(new OutgoingParamDTO(pv.getName(), pv.getValue()));
             }
+            call.setParameters(params);
+
+            outgoing.add(call);
         }
-        log.info("[GENERATOR] End building outgoing calls for node {}", node.getId());
+        log.debug("[GENERATOR] End building outgoing calls for node {}", node.getId());
         return outgoing;
     }
 
-}
+    /**
+     * Service generations of a bundle. Cancelling a future does not stop a generation already running, since the
+     * OpenAPI generator ignores interrupts, so on failure the bundle waits for the running ones before deleting its directory.
+     */
+    private static final class BundleTasks {
+        private int running;
+        private boolean aborted;
+
+        /**
+         * Runs a generation of the bundle, unless the bundle has already been aborted.
+         * @param task - the generation to run
+         * @return the result of the generation
+         * @throws Exception the error raised by the generation
+         */
+        private <T> T run(Callable<T> task) throws Exception {
+            synchronized (this) {
+                if (aborted) {
+                    throw new CancellationException("Bundle generation aborted");
+                }
+                running++;
+            }
+            try {
+                return task.call();
+            } finally {
+                synchronized (this) {
+                    running--;
+                    notifyAll();
+                }
+            }
+        }
 
+        /**
+         * Tells whether the bundle has been aborted after the failure of one of its generations.
+         * @return true if the bundle has been aborted
+         */
+        private synchronized boolean isAborted() {
+            return aborted;
+        }
 
+        /**
+         * Cancels the generations not started yet and waits for the running ones to finish.
+         * An interrupt received while waiting is restored once every generation has finished.
+         * @param futures - the generations of the bundle
+         */
+        private synchronized void abort(List<? extends Future<?>> futures) {
+            aborted = true;
+            futures.forEach(f -> f.cancel(true));
+            boolean interrupted = false;
+            while (running > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
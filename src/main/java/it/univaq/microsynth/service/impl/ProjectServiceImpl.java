@@ -1,42 +1,76 @@
 package it.univaq.microsynth.service.impl;
 
 import it.univaq.microsynth.Enum.ParameterType;
+import it.univaq.microsynth.Enum.TopologyModel;
 import it.univaq.microsynth.domain.*;
 import it.univaq.microsynth.domain.dto.*;
 import it.univaq.microsynth.domain.mapper.DiagramMapper;
 import it.univaq.microsynth.domain.mapper.ProjectMapper;
+import it.univaq.microsynth.generator.topology.Topology;
+import it.univaq.microsynth.generator.topology.TopologyGenerator;
+import it.univaq.microsynth.repository.DiagramRepository;
 import it.univaq.microsynth.repository.ProjectRepository;
 import it.univaq.microsynth.service.ProjectService;
+import it.univaq.microsynth.util.CursorUtils;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 @Slf4j
 @Service
 public class ProjectServiceImpl implements ProjectService {
 
+    // Generated JSON timestamps are random instants of 2024, so seeded diagrams do not depend on the clock
+    private static final long GENERATED_TIMESTAMP_BASE = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final long GENERATED_TIMESTAMP_RANGE = Duration.ofDays(366).toMillis();
+
+    // Fields the project list can be sorted by, each one backed by an (owner, field, id) index
+    private static final Set<String> PROJECT_SORT_FIELDS = Set.of("id", "name", "createdAt", "updatedAt");
+
     private final ProjectRepository projectRepository;
 
-    public ProjectServiceImpl(ProjectRepository projectRepository) {
+    private final DiagramRepository diagramRepository;
+
+    // Generators of the topology of the synthetic diagrams, by topology model
+    private final Map<TopologyModel, TopologyGenerator> topologyGenerators = new EnumMap<>(TopologyModel.class);
+
+    public ProjectServiceImpl(ProjectRepository projectRepository, DiagramRepository diagramRepository, List<TopologyGenerator> topologyGenerators) {
         this.projectRepository = projectRepository;
+        this.diagramRepository = diagramRepository;
+        topologyGenerators.forEach(generator -> this.topologyGenerators.put(generator.getModel(), generator));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public ResponseEntity<Page<Project>> getUserProjects(String userName, PaginatedRequestDTO paginatedRequestDTO) {
-        Sort sort = paginatedRequestDTO.getSortDir().equalsIgnoreCase("asc") ? Sort.by(paginatedRequestDTO.getSortBy()).ascending() : Sort.by(paginatedRequestDTO.getSortBy()).descending();
+    public ResponseEntity<Page<ProjectSummaryDTO>> getUserProjects(String userName, PaginatedRequestDTO paginatedRequestDTO) {
+        // same order as the cursor list, the id makes it stable when the sort field has duplicates
+        Sort sort = CursorUtils.keysetSort(paginatedRequestDTO.getSortBy(), paginatedRequestDTO.getSortDir(), PROJECT_SORT_FIELDS);
         PageRequest pageRequest = PageRequest.of(paginatedRequestDTO.getPage(), paginatedRequestDTO.getSize(), sort);
-        return ResponseEntity.ok(
-                projectRepository.findAllByOwner(userName, pageRequest)
-        );
+        Page<Project> projects = projectRepository.findSummariesByOwner(userName, pageRequest);
+        fillDiagramSummaries(projects.getContent());
+        return ResponseEntity.ok(projects.map(ProjectMapper.INSTANCE::projectToProjectSummaryDTO));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<CursorPageDTO<ProjectSummaryDTO>> getUserProjects(String userName, CursorRequestDTO cursorRequestDTO) {
+        Sort sort = CursorUtils.keysetSort(cursorRequestDTO.getSortBy(), cursorRequestDTO.getSortDir(), PROJECT_SORT_FIELDS);
+        KeysetScrollPosition position = CursorUtils.decode(cursorRequestDTO.getCursor(), sort);
+        Window<Project> projects = projectRepository.findSummariesByOwner(userName, position, Limit.of(cursorRequestDTO.getSize()), sort);
+        fillDiagramSummaries(projects.getContent());
+        return ResponseEntity.ok(CursorUtils.toPage(projects, sort, ProjectMapper.INSTANCE::projectToProjectSummaryDTO));
     }
 
     /**
@@ -45,7 +79,10 @@ public class ProjectServiceImpl implements ProjectService {
     @Override
     public ResponseEntity<ProjectDTO> getProjectById(String id, String userName) {
         return projectRepository.findByIdAndOwner(id, userName)
-                .map(ProjectMapper.INSTANCE::projectToProjectDTO)
+                .map(project -> {
+                    project.setDiagrams(diagramRepository.findAllByProjectId(project.getId()));
+                    return ProjectMapper.INSTANCE.projectToProjectDTO(project);
+                })
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -55,12 +92,8 @@ public class ProjectServiceImpl implements ProjectService {
      */
     @Override
     public ResponseEntity<DiagramDTO> getDiagramById(String projectId, String diagramId) {
-        return projectRepository.findById(projectId)
-                .flatMap(project -> project.getDiagrams().stream()
-                        .filter(diagram -> diagram.getId().equals(diagramId))
-                        .findFirst()
-                        .map(DiagramMapper.INSTANCE::diagramToDiagramDTO)
-                )
+        return diagramRepository.findByIdAndProjectId(diagramId, projectId)
+                .map(DiagramMapper.INSTANCE::diagramToDiagramDTO)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -83,36 +116,48 @@ public class ProjectServiceImpl implements ProjectService {
      * {@inheritDoc}
      */
     @Override
-    public ResponseEntity<DocumentResponseDTO> updateDiagram(String id, DiagramDTO diagramDTO) {
-        log.info("Updating project {} with diagram: {}", id, diagramDTO.toString());
-        return projectRepository.findById(id)
-                .map(project -> {
-                    Optional<Diagram> existingDiagramOpt = project.getDiagrams().stream()
-                            .filter(diagram -> diagram.getId().equals(diagramDTO.getId()))
-                            .findFirst();
-                    Diagram diagram;
-                    if (existingDiagramOpt.isPresent()) {
-                        diagram = existingDiagramOpt.get();
-                        diagram.setName(diagramDTO.getName());
-                        diagram.setData(diagramDTO.getData());
-                        // Update other fields if needed
-                    } else {
-                        // Create a new diagram and add to the project
-                        diagram = new Diagram();
-                        diagram.setId(UUID.randomUUID().toString());
-                        diagram.setName(diagramDTO.getName());
-                        diagram.setData(diagramDTO.getData());
-                        // Set other fields from diagramDTO as needed
-                        project.getDiagrams().add(diagram);
-                    }
+    public ResponseEntity<DiagramVersionDTO> updateDiagram(String id, DiagramDTO diagramDTO) {
+        log.info("Updating project {} with diagram {}", id, diagramDTO.getId());
+        if (!projectRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Optional<Diagram> existingDiagramOpt = diagramDTO.getId() != null
+                ? diagramRepository.findByIdAndProjectId(diagramDTO.getId(), id)
+                : Optional.empty();
+        Diagram diagram;
+        if (existingDiagramOpt.isPresent()) {
+            diagram = existingDiagramOpt.get();
+            // the client sends the version it loaded, do not overwrite changes saved in the meantime
+            if (diagramDTO.getVersion() != null && !diagramDTO.getVersion().equals(diagram.getVersion())) {
+                log.warn("Diagram {} of project {} modified concurrently, expected version {}", diagram.getId(), id, diagramDTO.getVersion());
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            diagram.setName(diagramDTO.getName());
+            diagram.setData(diagramDTO.getData());
+            // Update other fields if needed
+        } else {
+            // Create a new diagram of the project
+            diagram = new Diagram();
+            diagram.setId(UUID.randomUUID().toString());
+            diagram.setProjectId(id);
+            diagram.setName(diagramDTO.getName());
+            diagram.setData(diagramDTO.getData());
+            // Set other fields from diagramDTO as needed
+        }
 
-                    // Save the updated project if necessary
-                    projectRepository.save(project);
+        // only the diagram document is written, the save fails if the version changed after the read
+        Diagram saved;
+        try {
+            saved = diagramRepository.save(diagram);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Diagram {} of project {} modified concurrently", diagram.getId(), id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
 
-                    log.info("Updated project {} with diagram: {}", id, diagramDTO);
-                    return ResponseEntity.ok(new DocumentResponseDTO(diagram.getId()));
-                })
-                .orElse(ResponseEntity.notFound().build());
+        log.info("Updated project {} with diagram {}", id, saved.getId());
+        // the client sends the new version with its next update
+        return ResponseEntity.ok(new DiagramVersionDTO(saved.getId(), saved.getVersion()));
     }
 
     /**
@@ -132,7 +177,7 @@ public class ProjectServiceImpl implements ProjectService {
     public ResponseEntity<?> deleteProject(String id) {
         return projectRepository.findById(id)
                 .map(project -> {
-                    if (project.getDiagrams() != null && !project.getDiagrams().isEmpty()) {
+                    if (diagramRepository.existsByProjectId(project.getId())) {
                         return ResponseEntity
                                 .status(HttpStatus.BAD_REQUEST)
                                 .body("Project contains diagrams. Cannot be deleted.");
@@ -149,23 +194,16 @@ public class ProjectServiceImpl implements ProjectService {
     @Override
     public ResponseEntity<?> deleteDiagram(String projectId, String diagramId) {
         log.info("Deleting diagram {} from project {}", diagramId, projectId);
-        return projectRepository.findById(projectId)
-                .map(project -> {
-                    Optional<Diagram> diagramToDelete = project.getDiagrams().stream()
-                            .filter(diagram -> diagram.getId().equals(diagramId))
-                            .findFirst();
-
-                    if (diagramToDelete.isPresent()) {
-                        project.getDiagrams().remove(diagramToDelete.get());
-                        projectRepository.save(project);
-                        log.info("Deleted diagram {} from project {}", diagramId, projectId);
-                        return ResponseEntity.ok("Diagram deleted successfully");
-                    } else {
-                        log.warn("Diagram {} not found in project {}", diagramId, projectId);
-                        return ResponseEntity.notFound().build();
-                    }
+        return diagramRepository.findByIdAndProjectId(diagramId, projectId)
+                .map(diagram -> {
+                    diagramRepository.delete(diagram);
+                    log.info("Deleted diagram {} from project {}", diagramId, projectId);
+                    return ResponseEntity.ok("Diagram deleted successfully");
                 })
-                .orElse(ResponseEntity.notFound().build());
+                .orElseGet(() -> {
+                    log.warn("Diagram {} not found in project {}", diagramId, projectId);
+                    return ResponseEntity.notFound().build();
+                });
     }
 
     /**
@@ -174,98 +212,80 @@ public class ProjectServiceImpl implements ProjectService {
     @Override
     public Diagram generate(DiagramGenerationRequestDTO params) {
 
-        int n = params.getNodes();
-        int r = params.getRoots();
-        double d = params.getDensity();
-
-        if (r > n) {
-            throw new IllegalArgumentException("Number of roots cannot be greater than number of nodes.");
+        if (params.getLanguages() == null || params.getLanguages().isEmpty()) {
+            throw new IllegalArgumentException("Languages to generate cannot be null or empty");
+        }
+        if (params.getNodes() < 1 || params.getNodes() > DiagramGenerationRequestDTO.MAX_NODES) {
+            throw new IllegalArgumentException("Number of nodes must be between 1 and " + DiagramGenerationRequestDTO.MAX_NODES);
         }
 
-        Random rand = new Random();
+        // one random source for the whole generation, seeded when the request asks for a reproducible diagram.
+        // each phase gets its own split stream, so a change in one phase does not shift the values of the others
+        SplittableRandom rand = params.getSeed() != null ? new SplittableRandom(params.getSeed()) : new SplittableRandom();
+        SplittableRandom topologyRandom = rand.split();
+        SplittableRandom nodeRandom = rand.split();
+        SplittableRandom connectionRandom = rand.split();
+        SplittableRandom idRandom = rand.split();
+
+        // sorted, so the language choice does not depend on the iteration order of the set
+        List<String> languages = new ArrayList<>(new TreeSet<>(params.getLanguages()));
+
+        TopologyModel model = params.getTopology() != null ? params.getTopology() : TopologyModel.RANDOM_DAG;
+        TopologyGenerator topologyGenerator = topologyGenerators.get(model);
+        if (topologyGenerator == null) {
+            throw new IllegalArgumentException("Unsupported topology model: " + model);
+        }
+        Topology topology = topologyGenerator.generate(params, topologyRandom);
+        int n = topology.getNodeCount();
 
-        List<Node> nodes = new ArrayList<>();
-        List<Connection> connections = new ArrayList<>();
-        List<String> nodeIds = new ArrayList<>();
+        List<Node> nodes = new ArrayList<>(n);
+        List<Connection> connections = new ArrayList<>(topology.getEdgeCount());
 
-        // Nodes creation
+        // Nodes creation, nodes are looked up by topology index
         for (int i = 0; i < n; i++) {
-            String id = UUID.randomUUID().toString();
-            nodeIds.add(id);
-
             nodes.add(new Node(
-                    id,
+                    randomId(idRandom),
                     "S " + (i + 1),
                     "circle",
                     new Position(0.0, 0.0),
                     generateRandomNodePayload(
                             "s-" + (i + 1),
                             "/path-" + (i + 1),
-                            params.getLanguages()
+                            languages,
+                            nodeRandom
                     ),
                     0.0
             ));
         }
 
-        // Root choice
-        Set<Integer> rootIndices = new HashSet<>();
-        while (rootIndices.size() < r) {
-            rootIndices.add(rand.nextInt(n));
-        }
-
-        // Generate possible acycle edges
-        List<int[]> possibleEdges = new ArrayList<>();
-        for (int from = 0; from < n - 1; from++) {
-            for (int to = from + 1; to < n; to++) {
-                if (!rootIndices.contains(to)) {
-                    possibleEdges.add(new int[]{from, to});
-                }
+        // Generate connections with weight, edges of the same source are contiguous in the topology
+        int[] sources = topology.getSources();
+        int[] targets = topology.getTargets();
+        int groupStart = 0;
+        while (groupStart < sources.length) {
+            int groupEnd = groupStart;
+            while (groupEnd < sources.length && sources[groupEnd] == sources[groupStart]) {
+                groupEnd++;
             }
-        }
-
-        int maxConnections = possibleEdges.size();
-        int targetConnections = (int) Math.round(d * maxConnections);
-
-        Collections.shuffle(possibleEdges, rand);
-
-        List<int[]> selectedEdges = possibleEdges.subList(
-                0,
-                Math.min(targetConnections, maxConnections)
-        );
-
-        // Group edges per source node
-        Map<String, List<int[]>> edgesBySource = new HashMap<>();
-
-        for (int[] edge : selectedEdges) {
-            String sourceId = nodeIds.get(edge[0]);
-            edgesBySource
-                    .computeIfAbsent(sourceId, k -> new ArrayList<>())
-                    .add(edge);
-        }
-
-        // Generate connections with weight
-        for (Map.Entry<String, List<int[]>> entry : edgesBySource.entrySet()) {
-
-            String sourceId = entry.getKey();
-            List<int[]> sourceEdges = entry.getValue();
+            int groupSize = groupEnd - groupStart;
+            String sourceId = nodes.get(sources[groupStart]).getId();
 
             double remaining = 1.0;
 
-            for (int i = 0; i < sourceEdges.size(); i++) {
-                int[] edge = sourceEdges.get(i);
-                String targetId = nodeIds.get(edge[1]);
+            for (int i = 0; i < groupSize; i++) {
+                Node targetNode = nodes.get(targets[groupStart + i]);
                 double weight;
 
                 // if weight sum of probability of outgoing connections must be =1
                 if (Boolean.TRUE.equals(params.getOutgoingProbabiltySum())) {
-                    int edgesLeft = sourceEdges.size() - i;
+                    int edgesLeft = groupSize - i;
                     if (edgesLeft == 1) {
                         // last connection takes the remaining weigth available
                         weight = remaining;
                     } else {
                         // Minimum 0.1 for remaining connection
                         double max = remaining - (0.1 * (edgesLeft - 1));
-                        weight = 0.1 + rand.nextDouble() * (max - 0.1);
+                        weight = 0.1 + connectionRandom.nextDouble() * (max - 0.1);
                     }
                     weight = Math.round(weight * 100.0) / 100.0;
                     remaining -= weight;
@@ -275,38 +295,32 @@ public class ProjectServiceImpl implements ProjectService {
                         weight = Math.round(weight * 100.0) / 100.0;
                     }
                 } else {
-                    weight = 0.1 + rand.nextDouble() * 0.9;
+                    weight = 0.1 + connectionRandom.nextDouble() * 0.9;
                     weight = Math.round(weight * 100.0) / 100.0;
                 }
 
-                Node targetNode = nodes.stream()
-                        .filter(n1 -> n1.getId().equals(targetId))
-                        .findFirst()
-                        .orElse(null);
-
-                if (targetNode == null) continue;
-
-                ConnectionPayload payload = generateRandomConnectionPayload(targetNode);
+                ConnectionPayload payload = generateRandomConnectionPayload(targetNode, connectionRandom);
                 targetNode.getPayload().setInitiator(false);
 
                 String action = payload.getApiCall().getMethod() + "_" +
-                        payload.getApiCall().getPath().replaceAll("/", "");
+                        payload.getApiCall().getPath().replace("/", "");
 
                 connections.add(new Connection(
-                        UUID.randomUUID().toString(),
+                        randomId(idRandom),
                         sourceId,
-                        targetId,
+                        targetNode.getId(),
                         false,
                         weight,
                         action,
                         payload
                 ));
             }
+            groupStart = groupEnd;
         }
 
         // Build diagram
         Diagram diagram = new Diagram();
-        diagram.setId(UUID.randomUUID().toString());
+        diagram.setId(randomId(idRandom));
         diagram.setName("Generated System");
         diagram.setData(new DiagramData(
                 nodes,
@@ -315,24 +329,44 @@ public class ProjectServiceImpl implements ProjectService {
         ));
         return diagram;
     }
+    /**
+     * Helper method to set the diagrams, without their data, of a list of projects using a single query.
+     * @param projects - the projects to fill
+     */
+    private void fillDiagramSummaries(List<Project> projects) {
+        Map<String, List<Diagram>> diagramsByProject = new HashMap<>();
+        List<String> projectIds = projects.stream().map(Project::getId).toList();
+        for (Diagram diagram : diagramRepository.findSummariesByProjectIdIn(projectIds)) {
+            diagramsByProject.computeIfAbsent(diagram.getProjectId(), k -> new ArrayList<>()).add(diagram);
+        }
+        projects.forEach(project -> project.setDiagrams(diagramsByProject.getOrDefault(project.getId(), new ArrayList<>())));
+    }
+
+    /**
+     * Helper method to generate a random (version 4 format) UUID from the given random source instead of the system one,
+     * so ids are reproducible when the generation is seeded.
+     * @param rand The random source of the generation.
+     * @return The string representation of the generated UUID.
+     */
+    private static String randomId(RandomGenerator rand) {
+        long mostSigBits = (rand.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long leastSigBits = (rand.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
     /**
      * Helper method to generate random NodePayload based on the node name and path.
      * This method creates a payload with random language, endpoints, and parameters.
      * @param nodeName The name of the node for which to generate the payload.
      * @param path The path to be used in the generated endpoint.
-     * @param languages language request to generate
+     * @param languages languages to choose from, not empty
+     * @param rand The random source of the generation.
      * @return A NodePayload object with randomly generated content based on the provided node name and path.
      */
-    private NodePayload generateRandomNodePayload(String nodeName, String path, Set<String> languages) throws IllegalArgumentException {
+    private NodePayload generateRandomNodePayload(String nodeName, String path, List<String> languages, RandomGenerator rand) {
         NodePayload payload = new NodePayload();
-        Random rand = new Random();
 
-        if (languages == null || languages.isEmpty()) {
-            throw new IllegalArgumentException("Languages to generate cannot be null or empty");
-        }
-
-        List<String> languageList = new ArrayList<>(languages);
-        String chosenLanguage = languageList.get(rand.nextInt(languageList.size()));
+        String chosenLanguage = languages.get(rand.nextInt(languages.size()));
 
         payload.setLanguage(chosenLanguage);
         payload.setBasePath("/api");
@@ -356,12 +390,12 @@ public class ProjectServiceImpl implements ProjectService {
         String[] methods = { "GET", "POST" };
 
         // random integer between 1-30
-        Integer complexity = new Random().nextInt(30) + 1;
+        Integer complexity = rand.nextInt(30) + 1;
 
         // Create an endpoint
         Endpoint e1 = Endpoint.builder()
                 .path(path)
-                .method(methods[new Random().nextInt(methods.length)])
+                .method(methods[rand.nextInt(methods.length)])
                 .parameters(parameters)
                 .responses(List.of(
                         new ApiResponse(200, "Successful response", "application/json","{}")
@@ -379,11 +413,11 @@ public class ProjectServiceImpl implements ProjectService {
      * Helper method to generate random ConnectionPayload based on the target node's endpoints.
      * This method creates a payload with a random API call using one of the target node's endpoints.
      * @param targetNode The target node for which to generate the connection payload. The method will use the endpoints of this node to create the payload.
+     * @param rand The random source of the generation.
      * @return A ConnectionPayload object with a randomly generated API call based on the target node's endpoints. If the target node has no endpoints, it will generate a default API call.
      * @throws IllegalStateException if the target node is null or has no endpoints, as a connection payload cannot be generated without this information.
      */
-    private ConnectionPayload generateRandomConnectionPayload(Node targetNode) {
-        Random rand = new Random();
+    private ConnectionPayload generateRandomConnectionPayload(Node targetNode, RandomGenerator rand) {
 
         List<Endpoint> endpoints = targetNode.getPayload().getEndpoints();
         String path = "/path-x";
@@ -409,7 +443,7 @@ public class ProjectServiceImpl implements ProjectService {
         // Generate parameter values based on type
         List<ParameterValue<?>> parameterValues = new ArrayList<>();
         for (Parameter p : parameters) {
-            Object value = generateRandomValueForType(p.getType());
+            Object value = generateRandomValueForType(p.getType(), rand);
             parameterValues.add(new ParameterValue<>(p.getName(), value));
         }
 
@@ -432,10 +466,10 @@ public class ProjectServiceImpl implements ProjectService {
      * This method returns a random value corresponding to the type of the parameter.
      *
      * @param type The ParameterType for which to generate a random value.
+     * @param rand The random source of the generation.
      * @return A random value corresponding to the provided ParameterType.
      */
-    private Object generateRandomValueForType(ParameterType type) {
-        Random rand = new Random();
+    private Object generateRandomValueForType(ParameterType type, RandomGenerator rand) {
 
         return switch (type) {
             case STRING -> "value_" + rand.nextInt(1000);
@@ -443,12 +477,19 @@ public class ProjectServiceImpl implements ProjectService {
             case FLOAT -> rand.nextDouble() * 100;
             case BOOLEAN -> rand.nextBoolean();
             case ARRAY -> List.of("a", "b", "c"); // oppure genera dinamicamente
-            case JSON -> Map.of(
-                    "id", rand.nextInt(1000),
-                    "active", rand.nextBoolean(),
-                    "timestamp", System.currentTimeMillis()
-            );
-            case OBJECT -> Map.of("key", "value_" + rand.nextInt(1000));
+            case JSON -> {
+                // insertion ordered, the iteration order of Map.of changes between runs and so would the serialized diagram
+                Map<String, Object> json = new LinkedHashMap<>();
+                json.put("id", rand.nextInt(1000));
+                json.put("active", rand.nextBoolean());
+                json.put("timestamp", GENERATED_TIMESTAMP_BASE + rand.nextLong(GENERATED_TIMESTAMP_RANGE));
+                yield json;
+            }
+            case OBJECT -> {
+                Map<String, Object> object = new LinkedHashMap<>();
+                object.put("key", "value_" + rand.nextInt(1000));
+                yield object;
+            }
         };
     }
 
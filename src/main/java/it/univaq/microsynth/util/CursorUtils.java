@@ -0,0 +1,134 @@
+package it.univaq.microsynth.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.univaq.microsynth.domain.dto.CursorPageDTO;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+public class CursorUtils {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Key of the cursor holding the sort it was created with, a cursor cannot be used with a different sort
+    private static final String SORT_KEY = "$sort";
+
+    /**
+     * Builds the keyset sort of a cursor paginated request, the id is always added as last key so the order is unique.
+     * The id is sorted in the same direction as the field, so a single (field, id) index with both keys in the same direction
+     * serves the ascending and the descending sort, scanned forwards or backwards.
+     *
+     * @param sortBy      The field to sort by.
+     * @param sortDir     The sort direction, "asc" or "desc".
+     * @param sortFields  The fields that can be used for sorting, each one should be backed by a (field, id) index with both keys in the same direction.
+     * @return The sort to use for the keyset query.
+     * @throws IllegalArgumentException If the field is not allowed.
+     */
+    public static Sort keysetSort(String sortBy, String sortDir, Set<String> sortFields) {
+        if (!sortFields.contains(sortBy)) {
+            throw new IllegalArgumentException("Cannot sort by " + sortBy);
+        }
+        Sort.Direction direction = "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return sortBy.equals("id") ? Sort.by(direction, "id") : Sort.by(direction, sortBy, "id");
+    }
+
+    /**
+     * Decodes a cursor created by {@link #toPage} into the position to continue from.
+     *
+     * @param cursor The cursor, null or empty for the first page.
+     * @param sort   The sort of the request, it must be the one the cursor was created with.
+     * @return The scroll position of the cursor.
+     * @throws IllegalArgumentException If the cursor is malformed or was created with another sort.
+     */
+    public static KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, List<String>> encoded;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            encoded = MAPPER.readValue(json, new TypeReference<LinkedHashMap<String, List<String>>>() {});
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        List<String> cursorSort = encoded.remove(SORT_KEY);
+        if (cursorSort == null || !cursorSort.equals(List.of(sort.toString()))) {
+            throw new IllegalArgumentException("Cursor created with a different sort");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        encoded.forEach((key, value) -> keys.put(key, decodeValue(value)));
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Maps a window of results to a page, encoding the position of its last element in the cursor of the next page.
+     *
+     * @param window The window returned by the repository.
+     * @param sort   The sort of the request.
+     * @param mapper The function mapping each element to its DTO.
+     * @return The page of DTOs with the cursor of the next page.
+     */
+    public static <T, R> CursorPageDTO<R> toPage(Window<T> window, Sort sort, Function<T, R> mapper) {
+        List<R> content = window.getContent().stream().map(mapper).toList();
+        if (!window.hasNext() || window.isEmpty()) {
+            return new CursorPageDTO<>(content, null, false);
+        }
+        KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        return new CursorPageDTO<>(content, encode(last, sort), true);
+    }
+
+    private static String encode(KeysetScrollPosition position, Sort sort) {
+        Map<String, List<String>> encoded = new LinkedHashMap<>();
+        encoded.put(SORT_KEY, List.of(sort.toString()));
+        position.getKeys().forEach((key, value) -> encoded.put(key, encodeValue(value)));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(encoded));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode cursor", e);
+        }
+    }
+
+    // keys are stored with their type, so they are compared with the same BSON type when decoded
+    private static List<String> encodeValue(Object value) {
+        if (value == null) {
+            return List.of("null");
+        }
+        if (value instanceof String s) {
+            return List.of("string", s);
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return List.of("datetime", dateTime.toString());
+        }
+        if (value instanceof Long || value instanceof Integer) {
+            return List.of("long", value.toString());
+        }
+        throw new IllegalArgumentException("Unsupported cursor key type " + value.getClass().getName());
+    }
+
+    private static Object decodeValue(List<String> value) {
+        try {
+            return switch (value.get(0)) {
+                case "null" -> null;
+                case "string" -> value.get(1);
+                case "datetime" -> LocalDateTime.parse(value.get(1));
+                case "long" -> Long.parseLong(value.get(1));
+                default -> throw new IllegalArgumentException("Invalid cursor");
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -15,6 +15,7 @@ import java.util.Map;
 
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.io.Writer;
 
 import java.net.URL;
 
@@ -22,12 +23,25 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 
 import java.util.Enumeration;
+import java.util.concurrent.ConcurrentHashMap;
 
 import java.util.jar.JarFile;
 import java.util.jar.JarEntry;
 
 public class TemplateUtils {
 
+    // Shared mapper used by the "json" helper of the templates
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Shared Handlebars engine, compiled templates are thread-safe and can be applied concurrently
+    private static final Handlebars HANDLEBARS = createHandlebars();
+
+    // Compiled templates by path relative to "templates/", each template is read and compiled only once
+    private static final Map<String, Template> TEMPLATES = new ConcurrentHashMap<>();
+
+    // Base directories of the custom OpenAPI templates already extracted, by generator name
+    private static final Map<String, Path> EXTRACTED_TEMPLATES = new ConcurrentHashMap<>();
+
     /**
      * Renders a Handlebars template located in the classpath under "templates/" with the provided values.
      *
@@ -37,18 +51,19 @@ public class TemplateUtils {
      * @throws IOException If an error occurs while reading the template file or during rendering.
      */
     public static String renderTemplate(String templatePath, Map<String, Object> values) throws IOException {
-        ClassPathResource resource = new ClassPathResource("templates/" + templatePath);
-        String content = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-
-        Handlebars handlebars = new Handlebars();
-        ObjectMapper mapper = new ObjectMapper();
-
-        handlebars.registerHelper("json", (context, options) ->
-                mapper.writeValueAsString(context)
-        );
+        return getTemplate(templatePath).apply(values);
+    }
 
-        Template template = handlebars.compileInline(content);
-        return template.apply(values);
+    /**
+     * Renders a Handlebars template located in the classpath under "templates/" directly into a Writer.
+     *
+     * @param templatePath The path to the template file relative to the "templates/" directory.
+     * @param values       A map of values to be used for rendering the template.
+     * @param writer       The writer receiving the rendered content, it is not closed by this method.
+     * @throws IOException If an error occurs while reading the template file or during rendering.
+     */
+    public static void renderTemplate(String templatePath, Map<String, Object> values, Writer writer) throws IOException {
+        getTemplate(templatePath).apply(values, writer);
     }
 
     /**
@@ -60,12 +75,71 @@ public class TemplateUtils {
      * @throws IOException If an error occurs while reading the template file, during rendering, or while writing the output file.
      */
     public static void writeRenderedTemplate(String templateName, Path outputPath, Map<String, Object> values) throws IOException {
-        String rendered = renderTemplate(templateName, values);
-        Files.writeString(outputPath, rendered, StandardCharsets.UTF_8);
-        Files.writeString(outputPath, rendered, StandardCharsets.UTF_8);
+        try (Writer writer = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8)) {
+            renderTemplate(templateName, values, writer);
+        }
+    }
+
+    /**
+     * Returns the compiled template for the given path, reading and compiling it on first use.
+     *
+     * @param templatePath The path to the template file relative to the "templates/" directory.
+     * @return The compiled Handlebars template.
+     * @throws IOException If the template cannot be read or compiled.
+     */
+    public static Template getTemplate(String templatePath) throws IOException {
+        Template template = TEMPLATES.get(templatePath);
+        if (template != null) {
+            return template;
+        }
+        ClassPathResource resource = new ClassPathResource("templates/" + templatePath);
+        String content;
+        try (InputStream in = resource.getInputStream()) {
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        template = HANDLEBARS.compileInline(content);
+        Template existing = TEMPLATES.putIfAbsent(templatePath, template);
+        return existing != null ? existing : template;
+    }
+
+    /**
+     * Creates the shared Handlebars engine with the helpers used by the templates.
+     */
+    private static Handlebars createHandlebars() {
+        Handlebars handlebars = new Handlebars();
+        handlebars.registerHelper("json", (context, options) ->
+                MAPPER.writeValueAsString(context)
+        );
+        return handlebars;
     }
 
+    /**
+     * Returns the directory containing the custom OpenAPI templates of the given generator (in the sub-folder named as the generator).
+     * Templates are extracted from the classpath only on the first call for each generator and then shared by every generation,
+     * the extracted files are read-only for the generators so concurrent generations can use them safely.
+     *
+     * @param generatorName The name of the OpenAPI generator (e.g. "spring", "python-flask", "nodejs-express").
+     * @return The base directory of the extracted templates.
+     */
     public static Path extractTemplates(String generatorName) {
+        return EXTRACTED_TEMPLATES.computeIfAbsent(generatorName, TemplateUtils::doExtractTemplates);
+    }
+
+    /**
+     * Deletes the templates extracted by {@link #extractTemplates(String)}, to be called on application shutdown.
+     */
+    public static void deleteExtractedTemplates() {
+        for (Path baseDir : EXTRACTED_TEMPLATES.values()) {
+            ZipUtils.deleteFolder(baseDir);
+        }
+        EXTRACTED_TEMPLATES.clear();
+    }
+
+    /**
+     * Extracts the custom OpenAPI templates of a generator into a new temporary directory,
+     * reading them from the fat jar entries or from the classpath folder when running from the IDE.
+     */
+    private static Path doExtractTemplates(String generatorName) {
         try {
             Path tempDir = Files.createTempDirectory("openapi-templates-");
             Path generatorDir = tempDir.resolve(generatorName);
@@ -2,6 +2,8 @@ package it.univaq.microsynth.util;
 
 import java.io.*;
 import java.nio.file.*;
+import java.util.Comparator;
+import java.util.stream.Stream;
 import java.util.zip.*;
 
 public class ZipUtils {
@@ -15,19 +17,64 @@ public class ZipUtils {
      */
     public static void zipFolder(Path sourceFolderPath, File zipFile) throws IOException {
         try (FileOutputStream fos = new FileOutputStream(zipFile);
-             ZipOutputStream zos = new ZipOutputStream(fos)) {
-             Files.walk(sourceFolderPath)
-                    .filter(path -> !Files.isDirectory(path))
+             ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(fos))) {
+            zipFolder(sourceFolderPath, zos, "");
+        }
+    }
+
+    /**
+     * Adds the contents of a folder to an open zip stream, prefixing every entry name.
+     *
+     * @param sourceFolderPath The path to the folder to be zipped.
+     * @param zos              The zip stream where the entries are written, it is left open.
+     * @param prefix           The prefix of the entry names (e.g. "service-a/"), empty for the archive root.
+     * @throws IOException If an I/O error occurs during zipping.
+     */
+    public static void zipFolder(Path sourceFolderPath, ZipOutputStream zos, String prefix) throws IOException {
+        try (Stream<Path> paths = Files.walk(sourceFolderPath)) {
+            paths.filter(path -> !Files.isDirectory(path))
                     .forEach(path -> {
-                        ZipEntry zipEntry = new ZipEntry(sourceFolderPath.relativize(path).toString());
+                        String name = prefix + sourceFolderPath.relativize(path).toString().replace(File.separatorChar, '/');
                         try (InputStream is = Files.newInputStream(path)) {
-                            zos.putNextEntry(zipEntry);
+                            zos.putNextEntry(new ZipEntry(name));
                             is.transferTo(zos);
                             zos.closeEntry();
                         } catch (IOException e) {
                             throw new UncheckedIOException(e);
                         }
                     });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Adds a single in-memory file to an open zip stream.
+     *
+     * @param zos     The zip stream where the entry is written, it is left open.
+     * @param name    The name of the entry inside the archive.
+     * @param content The content of the entry.
+     * @throws IOException If an I/O error occurs during zipping.
+     */
+    public static void addEntry(ZipOutputStream zos, String name, byte[] content) throws IOException {
+        zos.putNextEntry(new ZipEntry(name));
+        zos.write(content);
+        zos.closeEntry();
+    }
+
+    /**
+     * Recursively deletes a folder and its contents, ignoring files that cannot be removed.
+     *
+     * @param folder The folder to delete.
+     */
+    public static void deleteFolder(Path folder) {
+        if (folder == null || !Files.exists(folder)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(folder)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException ignored) {
+            // best effort cleanup of temporary files
         }
     }
 }
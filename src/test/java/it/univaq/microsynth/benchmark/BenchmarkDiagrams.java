@@ -0,0 +1,67 @@
+package it.univaq.microsynth.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import it.univaq.microsynth.Enum.TopologyModel;
+import it.univaq.microsynth.domain.dto.DiagramDTO;
+import it.univaq.microsynth.domain.dto.DiagramGenerationRequestDTO;
+import it.univaq.microsynth.domain.mapper.DiagramMapper;
+import it.univaq.microsynth.generator.topology.*;
+import it.univaq.microsynth.service.impl.ProjectServiceImpl;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Diagrams produced by the synthetic diagram generator, shared by the benchmarks of the generator pipeline.
+ */
+final class BenchmarkDiagrams {
+
+    private BenchmarkDiagrams() {
+    }
+
+    /**
+     * Project service able to generate diagrams of every topology, without repositories.
+     */
+    static ProjectServiceImpl projectService() {
+        return new ProjectServiceImpl(null, null, List.of(
+                new RandomDagTopologyGenerator(),
+                new LayeredTopologyGenerator(),
+                new FanOutTreeTopologyGenerator(),
+                new BarabasiAlbertTopologyGenerator(),
+                new ChainTopologyGenerator(),
+                new StarTopologyGenerator()
+        ));
+    }
+
+    /**
+     * Generation request of a seeded diagram in the three languages.
+     * Random DAGs get the density giving about two outgoing connections per node, like the other topologies.
+     */
+    static DiagramGenerationRequestDTO request(int nodes, TopologyModel topology, long seed) {
+        DiagramGenerationRequestDTO params = new DiagramGenerationRequestDTO();
+        params.setNodes(nodes);
+        params.setRoots(1);
+        params.setDensity(nodes > 1 ? Math.min(1.0, 4.0 / (nodes - 1)) : 0.0);
+        params.setLanguages(Set.of("java", "python", "javascript"));
+        params.setOutgoingProbabiltySum(true);
+        params.setSeed(seed);
+        params.setTopology(topology);
+        return params;
+    }
+
+    /**
+     * Generates a seeded diagram, the same arguments always give the same diagram.
+     */
+    static DiagramDTO generate(int nodes, TopologyModel topology, long seed) {
+        return DiagramMapper.INSTANCE.diagramToDiagramDTO(projectService().generate(request(nodes, topology, seed)));
+    }
+
+    /**
+     * Raises the root log level, so the benchmarks measure the code and not the console appender.
+     */
+    static void quietLogs() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+}
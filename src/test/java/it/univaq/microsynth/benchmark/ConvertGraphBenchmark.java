@@ -0,0 +1,54 @@
+package it.univaq.microsynth.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.univaq.microsynth.Enum.TopologyModel;
+import it.univaq.microsynth.domain.dto.BundleGenerationRequestDTO;
+import it.univaq.microsynth.domain.dto.DiagramDTO;
+import it.univaq.microsynth.generator.builder.DelegateImplModelBuilder;
+import it.univaq.microsynth.generator.metrics.GeneratorMetrics;
+import it.univaq.microsynth.service.impl.OpenApiGeneratorServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of diagrams produced by the synthetic generator to bundle generation requests, from 100 to 10,000 nodes.
+ * The diagrams have about two outgoing connections per node, so the time per node should stay flat as the diagram grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ConvertGraphBenchmark {
+
+    @Param({"100", "1000", "2000", "10000"})
+    public int nodes;
+
+    // same topology as the other benchmarks of the pipeline, so their results can be compared
+    @Param({"BARABASI_ALBERT"})
+    public TopologyModel topology;
+
+    // 0 converts sequentially, 1 converts every diagram in parallel
+    @Param({"0", "1"})
+    public int parallelThreshold;
+
+    private OpenApiGeneratorServiceImpl generatorService;
+    private DiagramDTO diagram;
+
+    @Setup
+    public void setup() {
+        BenchmarkDiagrams.quietLogs();
+        generatorService = new OpenApiGeneratorServiceImpl(new DelegateImplModelBuilder(), null, new GeneratorMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(generatorService, "convertParallelThreshold", parallelThreshold);
+        diagram = BenchmarkDiagrams.generate(nodes, topology, 42);
+    }
+
+    @Benchmark
+    public List<BundleGenerationRequestDTO> convertGraphToRequests() {
+        return generatorService.convertGraphToRequests(diagram);
+    }
+}
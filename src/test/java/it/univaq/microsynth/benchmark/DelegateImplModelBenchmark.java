@@ -0,0 +1,49 @@
+package it.univaq.microsynth.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.univaq.microsynth.Enum.TopologyModel;
+import it.univaq.microsynth.domain.dto.BundleGenerationRequestDTO;
+import it.univaq.microsynth.generator.builder.DelegateImplModelBuilder;
+import it.univaq.microsynth.generator.metrics.GeneratorMetrics;
+import it.univaq.microsynth.service.impl.OpenApiGeneratorServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delegate implementation models of the Spring services of a synthetic diagram, built for every Spring service of the diagram.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DelegateImplModelBenchmark {
+
+    @Param({"100", "1000"})
+    public int nodes;
+
+    private DelegateImplModelBuilder builder;
+    private List<BundleGenerationRequestDTO> springRequests;
+
+    @Setup
+    public void setup() {
+        BenchmarkDiagrams.quietLogs();
+        builder = new DelegateImplModelBuilder();
+        OpenApiGeneratorServiceImpl generatorService = new OpenApiGeneratorServiceImpl(builder, null, new GeneratorMetrics(new SimpleMeterRegistry()));
+        springRequests = generatorService.convertGraphToRequests(BenchmarkDiagrams.generate(nodes, TopologyModel.BARABASI_ALBERT, 42))
+                .stream()
+                .filter(request -> "java".equals(request.getType()))
+                .toList();
+    }
+
+    @Benchmark
+    public void build(Blackhole blackhole) {
+        for (BundleGenerationRequestDTO request : springRequests) {
+            blackhole.consume(builder.build(request));
+        }
+    }
+}
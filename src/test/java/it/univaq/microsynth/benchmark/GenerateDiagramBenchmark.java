@@ -0,0 +1,42 @@
+package it.univaq.microsynth.benchmark;
+
+import it.univaq.microsynth.Enum.TopologyModel;
+import it.univaq.microsynth.domain.Diagram;
+import it.univaq.microsynth.domain.dto.DiagramGenerationRequestDTO;
+import it.univaq.microsynth.service.impl.ProjectServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation of seeded synthetic diagrams (topology, nodes with endpoints, connections with api calls) from 100 to 10,000 nodes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class GenerateDiagramBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int nodes;
+
+    @Param({"RANDOM_DAG", "LAYERED", "BARABASI_ALBERT"})
+    public TopologyModel topology;
+
+    private ProjectServiceImpl projectService;
+    private DiagramGenerationRequestDTO params;
+
+    @Setup
+    public void setup() {
+        BenchmarkDiagrams.quietLogs();
+        projectService = BenchmarkDiagrams.projectService();
+        params = BenchmarkDiagrams.request(nodes, topology, 42);
+    }
+
+    @Benchmark
+    public Diagram generate() {
+        return projectService.generate(params);
+    }
+}
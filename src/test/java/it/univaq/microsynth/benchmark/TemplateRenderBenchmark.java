@@ -0,0 +1,105 @@
+package it.univaq.microsynth.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import it.univaq.microsynth.util.TemplateUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-render cost of the bundle templates: compiling the template on every call (previous TemplateUtils behaviour)
+ * versus the compiled template registry, rendering to a String or straight into a Writer, for bundles of 10 to 500 services.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateRenderBenchmark {
+
+    @Param({"docker/Dockerfile-spring.template", "docker/docker-compose-multi.yml.template"})
+    public String templatePath;
+
+    // services of the bundle, i.e. entries of the docker-compose file
+    @Param({"10", "50", "500"})
+    public int services;
+
+    private Map<String, Object> values;
+
+    @Setup
+    public void setup() {
+        List<Map<String, String>> serviceEntries = new ArrayList<>();
+        for (int i = 0; i < services; i++) {
+            serviceEntries.add(Map.of(
+                    "name", "s-" + i,
+                    "path", "./s-" + i + "/generated",
+                    "port", String.valueOf(8091 + i)
+            ));
+        }
+        values = Map.of(
+                "projectName", "S_1",
+                "port", "8091",
+                "services", serviceEntries
+        );
+    }
+
+    @Benchmark
+    public String compileOnEveryRender() throws IOException {
+        ClassPathResource resource = new ClassPathResource("templates/" + templatePath);
+        String content = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+        Handlebars handlebars = new Handlebars();
+        ObjectMapper mapper = new ObjectMapper();
+        handlebars.registerHelper("json", (context, options) ->
+                mapper.writeValueAsString(context)
+        );
+
+        Template template = handlebars.compileInline(content);
+        return template.apply(values);
+    }
+
+    @Benchmark
+    public String registryToString() throws IOException {
+        return TemplateUtils.renderTemplate(templatePath, values);
+    }
+
+    @Benchmark
+    public void registryToWriter(Blackhole blackhole) throws IOException {
+        TemplateUtils.renderTemplate(templatePath, values, new BlackholeWriter(blackhole));
+    }
+
+    /**
+     * Writer discarding the rendered output, so only the rendering cost is measured.
+     */
+    private static final class BlackholeWriter extends Writer {
+        private final Blackhole blackhole;
+
+        private BlackholeWriter(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            blackhole.consume(cbuf);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package it.univaq.microsynth.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.univaq.microsynth.Enum.TopologyModel;
+import it.univaq.microsynth.domain.dto.BundleGenerationRequestDTO;
+import it.univaq.microsynth.generator.builder.DelegateImplModelBuilder;
+import it.univaq.microsynth.generator.metrics.GeneratorMetrics;
+import it.univaq.microsynth.generator.util.GeneratorUtil;
+import it.univaq.microsynth.service.impl.OpenApiGeneratorServiceImpl;
+import it.univaq.microsynth.util.TemplateUtils;
+import it.univaq.microsynth.util.ZipUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zipping of a bundle directory with one folder per service of a synthetic diagram, each holding its OpenAPI spec and Dockerfile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZipFolderBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int nodes;
+
+    private Path bundleDir;
+    private File zipFile;
+
+    @Setup
+    public void setup() throws IOException {
+        BenchmarkDiagrams.quietLogs();
+        OpenApiGeneratorServiceImpl generatorService = new OpenApiGeneratorServiceImpl(new DelegateImplModelBuilder(), null, new GeneratorMetrics(new SimpleMeterRegistry()));
+        List<BundleGenerationRequestDTO> requests = generatorService.convertGraphToRequests(BenchmarkDiagrams.generate(nodes, TopologyModel.BARABASI_ALBERT, 42));
+
+        ObjectMapper mapper = new ObjectMapper();
+        bundleDir = Files.createTempDirectory("zip_benchmark_");
+        for (BundleGenerationRequestDTO request : requests) {
+            Path serviceDir = Files.createDirectories(bundleDir.resolve(GeneratorUtil.sanitizeDockerServiceName(request.getProjectName())));
+            Files.writeString(serviceDir.resolve("openapi.json"), mapper.writerWithDefaultPrettyPrinter().writeValueAsString(request.getApiSpec()));
+            TemplateUtils.writeRenderedTemplate(GeneratorUtil.getDockerTemplate(request.getType()), serviceDir.resolve("Dockerfile"),
+                    Map.of("projectName", request.getProjectName(), "port", "8091"));
+        }
+        zipFile = Files.createTempFile("zip_benchmark_", ".zip").toFile();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ZipUtils.deleteFolder(bundleDir);
+        zipFile.delete();
+    }
+
+    @Benchmark
+    public long zipFolder() throws IOException {
+        ZipUtils.zipFolder(bundleDir, zipFile);
+        return zipFile.length();
+    }
+}
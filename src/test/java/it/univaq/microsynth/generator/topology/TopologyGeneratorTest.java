@@ -0,0 +1,195 @@
+package it.univaq.microsynth.generator.topology;
+
+import it.univaq.microsynth.domain.dto.DiagramGenerationRequestDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Node and edge counts of the topology generators on small diagrams, and rejection of parameters that do not fit the nodes.
+ */
+class TopologyGeneratorTest {
+
+    @Test
+    void randomDagWithFullDensityHasEveryForwardEdge() {
+        DiagramGenerationRequestDTO params = request(10);
+        params.setRoots(0);
+        params.setDensity(1.0);
+
+        Topology topology = new RandomDagTopologyGenerator().generate(params, new SplittableRandom(1));
+
+        assertEquals(10, topology.getNodeCount());
+        assertEquals(45, topology.getEdgeCount());
+        assertAcyclic(topology);
+    }
+
+    @Test
+    void randomDagRootsHaveNoCallers() {
+        DiagramGenerationRequestDTO params = request(20);
+        params.setRoots(4);
+        params.setDensity(0.5);
+
+        Topology topology = new RandomDagTopologyGenerator().generate(params, new SplittableRandom(1));
+
+        int[] inDegree = inDegree(topology);
+        long roots = Arrays.stream(inDegree).filter(d -> d == 0).count();
+        assertTrue(roots >= 4);
+        assertAcyclic(topology);
+    }
+
+    @Test
+    void chainHasOneEdgePerNodeButTheLast() {
+        Topology topology = new ChainTopologyGenerator().generate(request(10), new SplittableRandom(1));
+
+        assertEquals(10, topology.getNodeCount());
+        assertEquals(9, topology.getEdgeCount());
+        assertAcyclic(topology);
+    }
+
+    @Test
+    void starCallsEveryNodeFromTheCenter() {
+        Topology topology = new StarTopologyGenerator().generate(request(10), new SplittableRandom(1));
+
+        assertEquals(10, topology.getNodeCount());
+        assertEquals(9, topology.getEdgeCount());
+        for (int source : topology.getSources()) {
+            assertEquals(0, source);
+        }
+        assertAcyclic(topology);
+    }
+
+    @Test
+    void fanOutTreeStopsAtTheRequestedDepth() {
+        DiagramGenerationRequestDTO params = request(100);
+        params.setBranching(2);
+        params.setDepth(2);
+
+        Topology topology = new FanOutTreeTopologyGenerator().generate(params, new SplittableRandom(1));
+
+        assertEquals(7, topology.getNodeCount());
+        assertEquals(6, topology.getEdgeCount());
+        assertAcyclic(topology);
+    }
+
+    @Test
+    void layeredCallsEveryNodeBelowTheFirstTier() {
+        DiagramGenerationRequestDTO params = request(9);
+        params.setLayers(3);
+        params.setBranching(2);
+
+        Topology topology = new LayeredTopologyGenerator().generate(params, new SplittableRandom(1));
+
+        assertEquals(9, topology.getNodeCount());
+        // per pair of tiers: 3 nodes calling 2 distinct nodes each, plus at most one extra caller for each of the 3 callees
+        assertTrue(topology.getEdgeCount() >= 12 && topology.getEdgeCount() <= 18, "edges: " + topology.getEdgeCount());
+        int[] inDegree = inDegree(topology);
+        for (int node = 3; node < 9; node++) {
+            assertTrue(inDegree[node] > 0, "node " + node + " has no caller");
+        }
+        assertAcyclic(topology);
+    }
+
+    @Test
+    void barabasiAlbertAddsAttachmentsPerNode() {
+        DiagramGenerationRequestDTO params = request(10);
+        params.setAttachments(2);
+
+        Topology topology = new BarabasiAlbertTopologyGenerator().generate(params, new SplittableRandom(1));
+
+        // node 1 can only call node 0, every later node calls 2 distinct older nodes
+        assertEquals(10, topology.getNodeCount());
+        assertEquals(17, topology.getEdgeCount());
+        assertAcyclic(topology);
+    }
+
+    @Test
+    void attachmentsMustBeLowerThanNodes() {
+        DiagramGenerationRequestDTO params = request(10);
+        params.setAttachments(10);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new BarabasiAlbertTopologyGenerator().generate(params, new SplittableRandom(1)));
+    }
+
+    @Test
+    void barabasiAlbertRejectsTooManyConnections() {
+        DiagramGenerationRequestDTO params = request(100000);
+        params.setAttachments(50000);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new BarabasiAlbertTopologyGenerator().generate(params, new SplittableRandom(1)));
+    }
+
+    @Test
+    void branchingMustBeLowerThanNodes() {
+        DiagramGenerationRequestDTO params = request(10);
+        params.setLayers(2);
+        params.setBranching(10);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new LayeredTopologyGenerator().generate(params, new SplittableRandom(1)));
+    }
+
+    @Test
+    void layersCannotExceedNodes() {
+        DiagramGenerationRequestDTO params = request(3);
+        params.setLayers(4);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new LayeredTopologyGenerator().generate(params, new SplittableRandom(1)));
+    }
+
+    @Test
+    void layeredRejectsTooManyConnections() {
+        DiagramGenerationRequestDTO params = request(100000);
+        params.setLayers(2);
+        params.setBranching(50000);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new LayeredTopologyGenerator().generate(params, new SplittableRandom(1)));
+    }
+
+    private static DiagramGenerationRequestDTO request(int nodes) {
+        DiagramGenerationRequestDTO params = new DiagramGenerationRequestDTO();
+        params.setNodes(nodes);
+        return params;
+    }
+
+    private static int[] inDegree(Topology topology) {
+        int[] inDegree = new int[topology.getNodeCount()];
+        for (int target : topology.getTargets()) {
+            inDegree[target]++;
+        }
+        return inDegree;
+    }
+
+    /**
+     * Kahn's algorithm: every node can be removed in topological order only if the graph has no cycle.
+     */
+    private static void assertAcyclic(Topology topology) {
+        int n = topology.getNodeCount();
+        int[] sources = topology.getSources();
+        int[] targets = topology.getTargets();
+        int[] inDegree = inDegree(topology);
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int node = 0; node < n; node++) {
+            if (inDegree[node] == 0) {
+                queue[tail++] = node;
+            }
+        }
+        while (head < tail) {
+            int node = queue[head++];
+            for (int e = 0; e < sources.length; e++) {
+                if (sources[e] == node && --inDegree[targets[e]] == 0) {
+                    queue[tail++] = targets[e];
+                }
+            }
+        }
+        assertEquals(n, tail, "the topology has a cycle");
+    }
+}
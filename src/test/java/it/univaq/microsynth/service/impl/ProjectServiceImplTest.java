@@ -0,0 +1,71 @@
+package it.univaq.microsynth.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import it.univaq.microsynth.Enum.TopologyModel;
+import it.univaq.microsynth.domain.dto.DiagramGenerationRequestDTO;
+import it.univaq.microsynth.generator.topology.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Synthetic diagram generation of {@link ProjectServiceImpl}, without repositories.
+ */
+class ProjectServiceImplTest {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+    private final ProjectServiceImpl projectService = new ProjectServiceImpl(null, null, List.of(
+            new RandomDagTopologyGenerator(),
+            new LayeredTopologyGenerator(),
+            new FanOutTreeTopologyGenerator(),
+            new BarabasiAlbertTopologyGenerator(),
+            new ChainTopologyGenerator(),
+            new StarTopologyGenerator()
+    ));
+
+    @ParameterizedTest
+    @EnumSource(TopologyModel.class)
+    void sameSeedGivesSameDiagram(TopologyModel topology) throws Exception {
+        String first = MAPPER.writeValueAsString(projectService.generate(request(topology, 42L)));
+        String second = MAPPER.writeValueAsString(projectService.generate(request(topology, 42L)));
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void differentSeedsGiveDifferentDiagrams() throws Exception {
+        String first = MAPPER.writeValueAsString(projectService.generate(request(TopologyModel.RANDOM_DAG, 1L)));
+        String second = MAPPER.writeValueAsString(projectService.generate(request(TopologyModel.RANDOM_DAG, 2L)));
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void tooManyNodesAreRejected() {
+        DiagramGenerationRequestDTO params = request(TopologyModel.CHAIN, 42L);
+        params.setNodes(DiagramGenerationRequestDTO.MAX_NODES + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> projectService.generate(params));
+    }
+
+    private static DiagramGenerationRequestDTO request(TopologyModel topology, long seed) {
+        DiagramGenerationRequestDTO params = new DiagramGenerationRequestDTO();
+        params.setNodes(30);
+        params.setRoots(2);
+        params.setDensity(0.2);
+        params.setLanguages(Set.of("java", "python", "javascript"));
+        params.setOutgoingProbabiltySum(true);
+        params.setSeed(seed);
+        params.setTopology(topology);
+        return params;
+    }
+}